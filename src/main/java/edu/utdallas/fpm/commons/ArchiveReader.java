@@ -0,0 +1,293 @@
+package edu.utdallas.fpm.commons;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static edu.utdallas.fpm.commons.Util.panic;
+import static java.lang.System.out;
+
+/* streams the java files of a .zip, .tar, .tar.gz or .tgz corpus, pairing
+ * them as our find/awk scripts do (see CorpusLayout).
+ * the archive is decompressed once, front to back; an entry waits in memory
+ * only until its partner shows up, which in archives made from a directory
+ * tree is a few entries later. pairs are named as if the archive were a
+ * directory, i.e. <archive>/<entry> */
+public final class ArchiveReader implements SourcePairReader {
+    private final File archive;
+    /* pair key -> the half of the pair seen so far */
+    private final Map<String, Entry> pending;
+
+    private static final class Entry {
+        final String name;
+        final byte[] content;
+        final boolean buggy;
+
+        Entry(final String name, final byte[] content, final boolean buggy) {
+            this.name = name;
+            this.content = content;
+            this.buggy = buggy;
+        }
+    }
+
+    public ArchiveReader(final File archive) {
+        this.archive = archive;
+        this.pending = new HashMap<>();
+    }
+
+    public static boolean isArchive(final File file) {
+        final String name = file.getName();
+        return name.endsWith(".zip")
+                || name.endsWith(".tar")
+                || name.endsWith(".tar.gz")
+                || name.endsWith(".tgz");
+    }
+
+    @Override
+    public void parse(final SourcePairVisitor visitor) {
+        final String name = this.archive.getName();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(this.archive.toPath()))) {
+            if (name.endsWith(".zip")) {
+                final ZipInputStream zis = new ZipInputStream(in);
+                ZipEntry entry;
+                while ((entry = zis.getNextEntry()) != null) {
+                    if (!entry.isDirectory()) {
+                        visitEntry(entry.getName(), zis, visitor);
+                    }
+                }
+            } else {
+                final TarReader tar = new TarReader(name.endsWith(".tar")
+                        ? in
+                        : new GZIPInputStream(in, 1 << 16));
+                String entryName;
+                while ((entryName = tar.nextFile()) != null) {
+                    visitEntry(entryName, tar, visitor);
+                }
+            }
+        } catch (Exception e) {
+            panic(e);
+        }
+        if (!this.pending.isEmpty()) {
+            out.printf("warning: %d archive entries have no partner%n", this.pending.size());
+            this.pending.clear();
+        }
+    }
+
+    private void visitEntry(final String entryName,
+                            final InputStream content,
+                            final SourcePairVisitor visitor) throws IOException {
+        if (!entryName.endsWith(".java")) {
+            return;
+        }
+        final String[] parts = entryName.split("/");
+        if (parts.length < 2) {
+            return;
+        }
+        final String directory = parts[parts.length - 2];
+        for (final String[] layout : CorpusLayout.BUGGY_FIXED) {
+            final boolean buggy = directory.equals(layout[0]);
+            if (buggy || directory.equals(layout[1])) {
+                parts[parts.length - 2] = layout[0];
+                final String key = String.join("/", parts);
+                final Entry entry = new Entry(new File(this.archive, entryName).getPath(),
+                        readFully(content),
+                        buggy);
+                final Entry partner = this.pending.remove(key);
+                if (partner == null || partner.buggy == buggy) {
+                    this.pending.put(key, entry);
+                    return;
+                }
+                final Entry buggyEntry = buggy ? entry : partner;
+                final Entry fixedEntry = buggy ? partner : entry;
+                visitor.visit(SourcePair.ofBytes(buggyEntry.name,
+                        buggyEntry.content,
+                        fixedEntry.name,
+                        fixedEntry.content,
+                        null));
+                return;
+            }
+        }
+    }
+
+    private static byte[] readFully(final InputStream in) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            bos.write(buffer, 0, n);
+        }
+        return bos.toByteArray();
+    }
+
+    /* just enough of ustar, gnu and pax tar to walk the regular files of an
+     * archive: nextFile() positions the stream at the data of the next regular
+     * file, which then reads as that file alone */
+    static final class TarReader extends InputStream {
+        private static final int BLOCK = 512;
+
+        private final InputStream in;
+        private final byte[] header;
+        private long remaining;
+        private long padding;
+
+        TarReader(final InputStream in) {
+            this.in = in;
+            this.header = new byte[BLOCK];
+        }
+
+        String nextFile() throws IOException {
+            String longName = null;
+            while (true) {
+                skipFully(this.remaining + this.padding);
+                this.remaining = 0L;
+                this.padding = 0L;
+                if (!readHeader()) {
+                    return null;
+                }
+                final long size = parseOctal(124, 12);
+                final char type = (char) this.header[156];
+                String name = longName != null ? longName : headerName();
+                longName = null;
+                this.remaining = size;
+                this.padding = (BLOCK - size % BLOCK) % BLOCK;
+                if (type == 'L') { // gnu long name of the next entry
+                    longName = trimNul(new String(readBody(size), StandardCharsets.UTF_8));
+                } else if (type == 'x') { // pax attributes of the next entry
+                    longName = paxPath(readBody(size));
+                } else if (type == '0' || type == '\0') {
+                    return name;
+                }
+            }
+        }
+
+        private boolean readHeader() throws IOException {
+            int offset = 0;
+            while (offset < BLOCK) {
+                final int n = this.in.read(this.header, offset, BLOCK - offset);
+                if (n < 0) {
+                    return false;
+                }
+                offset += n;
+            }
+            for (final byte b : this.header) {
+                if (b != 0) {
+                    return true;
+                }
+            }
+            return false; // the end-of-archive block
+        }
+
+        private byte[] readBody(final long size) throws IOException {
+            final byte[] body = new byte[(int) size];
+            int offset = 0;
+            while (offset < body.length) {
+                final int n = read(body, offset, body.length - offset);
+                if (n < 0) {
+                    throw new EOFException("truncated tar entry");
+                }
+                offset += n;
+            }
+            return body;
+        }
+
+        private String headerName() {
+            final String name = field(0, 100);
+            final String prefix = field(345, 155);
+            return prefix.isEmpty() ? name : prefix + "/" + name;
+        }
+
+        private String field(final int offset, final int length) {
+            int end = offset;
+            while (end < offset + length && this.header[end] != 0) {
+                end++;
+            }
+            return new String(this.header, offset, end - offset, StandardCharsets.UTF_8);
+        }
+
+        /* leading blanks, then octal digits up to a blank */
+        private long parseOctal(final int offset, final int length) {
+            long value = 0L;
+            boolean digits = false;
+            for (int i = offset; i < offset + length; i++) {
+                final byte b = this.header[i];
+                if (b >= '0' && b <= '7') {
+                    value = (value << 3) + (b - '0');
+                    digits = true;
+                } else if (digits) {
+                    break;
+                }
+            }
+            return value;
+        }
+
+        /* records are "<length> <key>=<value>\n" */
+        private static String paxPath(final byte[] body) {
+            int offset = 0;
+            while (offset < body.length) {
+                int space = offset;
+                while (space < body.length && body[space] != ' ') {
+                    space++;
+                }
+                if (space == body.length) {
+                    break;
+                }
+                final int length = Integer.parseInt(new String(body,
+                        offset,
+                        space - offset,
+                        StandardCharsets.US_ASCII));
+                if (length <= 0) {
+                    break;
+                }
+                final String record = new String(body,
+                        space + 1,
+                        offset + length - space - 2,
+                        StandardCharsets.UTF_8);
+                if (record.startsWith("path=")) {
+                    return record.substring(5);
+                }
+                offset += length;
+            }
+            return null;
+        }
+
+        private static String trimNul(final String s) {
+            final int nul = s.indexOf('\0');
+            return nul < 0 ? s : s.substring(0, nul);
+        }
+
+        private void skipFully(long n) throws IOException {
+            final byte[] buffer = new byte[8192];
+            while (n > 0L) {
+                final int read = this.in.read(buffer, 0, (int) Math.min(buffer.length, n));
+                if (read < 0) {
+                    throw new EOFException("truncated tar archive");
+                }
+                n -= read;
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (this.remaining <= 0L) {
+                return -1;
+            }
+            final int n = this.in.read(b, off, (int) Math.min(len, this.remaining));
+            if (n < 0) {
+                throw new EOFException("truncated tar entry");
+            }
+            this.remaining -= n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package edu.utdallas.fpm.commons;
+
+/* directory names of the buggy and fixed versions of a file, in the datasets
+ * we mine: .../old/X.java goes with .../fix/X.java, and
+ * .../buggy-version/X.java with .../fixed-version/X.java */
+final class CorpusLayout {
+    static final String[][] BUGGY_FIXED = {
+            {"old", "fix"},
+            {"buggy-version", "fixed-version"}
+    };
+
+    private CorpusLayout() {
+
+    }
+
+    /* name of the directory of the fixed versions, or null if the directory is
+     * not one of buggy versions */
+    static String fixedDirectoryOf(final String buggyDirectory) {
+        for (final String[] layout : BUGGY_FIXED) {
+            if (layout[0].equals(buggyDirectory)) {
+                return layout[1];
+            }
+        }
+        return null;
+    }
+
+    static boolean isVersionDirectory(final String directory) {
+        for (final String[] layout : BUGGY_FIXED) {
+            if (layout[0].equals(directory) || layout[1].equals(directory)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,132 @@
+package edu.utdallas.fpm.commons;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static edu.utdallas.fpm.commons.Util.panic;
+import static java.lang.System.out;
+
+/* finds the file pairs of a dataset laid out as in CorpusLayout, by walking
+ * its directory tree in parallel. each pair is tagged with the name of the
+ * directory at the given depth below the root, so projects are named
+ * explicitly rather than guessed from the paths later on.
+ * pairs are visited, in the calling thread, as soon as they are found, so
+ * that mining starts long before the walk is over */
+public final class CorpusWalker {
+    private static final Object[] END = new Object[0];
+
+    private final Path root;
+    private final int projectDepth;
+    private final int threads;
+    /* {buggy, fixed, project name} */
+    private final BlockingQueue<Object[]> found;
+
+    public CorpusWalker(final File root, final int projectDepth, final int threads) {
+        this.root = root.toPath();
+        this.projectDepth = projectDepth;
+        this.threads = threads;
+        this.found = new ArrayBlockingQueue<>(1024);
+    }
+
+    private final class Walk extends RecursiveAction {
+        private final Path directory;
+        private final int depth;
+        private final String projectName;
+
+        Walk(final Path directory, final int depth, final String projectName) {
+            this.directory = directory;
+            this.depth = depth;
+            this.projectName = projectName;
+        }
+
+        @Override
+        protected void compute() {
+            final List<Walk> subWalks = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(this.directory)) {
+                for (final Path entry : entries) {
+                    if (!Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                        continue;
+                    }
+                    final String name = entry.getFileName().toString();
+                    final String fixedDirectory = CorpusLayout.fixedDirectoryOf(name);
+                    if (fixedDirectory != null) {
+                        pairFiles(entry, entry.resolveSibling(fixedDirectory));
+                    } else if (!CorpusLayout.isVersionDirectory(name)) {
+                        final int depth = this.depth + 1;
+                        subWalks.add(new Walk(entry,
+                                depth,
+                                depth == projectDepth ? name : this.projectName));
+                    }
+                }
+            } catch (IOException e) {
+                out.printf("warning: \'%s\' swallowed while walking %s.%n", e, this.directory);
+            }
+            invokeAll(subWalks);
+        }
+
+        private void pairFiles(final Path buggyDirectory, final Path fixedDirectory) {
+            if (!Files.isDirectory(fixedDirectory)) {
+                return;
+            }
+            final String projectName = this.projectName == null
+                    ? buggyDirectory.getParent().getFileName().toString()
+                    : this.projectName;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(buggyDirectory, "*.java")) {
+                for (final Path buggy : files) {
+                    final Path fixed = fixedDirectory.resolve(buggy.getFileName());
+                    if (Files.isRegularFile(fixed)) {
+                        put(new Object[] {buggy.toFile(), fixed.toFile(), projectName});
+                    }
+                }
+            } catch (IOException e) {
+                out.printf("warning: \'%s\' swallowed while walking %s.%n", e, buggyDirectory);
+            }
+        }
+
+    }
+
+    private void put(final Object[] pair) {
+        try {
+            this.found.put(pair);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void parse(final FilePairVisitor visitor) {
+        final ForkJoinPool pool = new ForkJoinPool(this.threads);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        /* the end of the walk is signalled from outside of the pool, so that
+         * no pool thread waits for the others */
+        final Thread walker = new Thread(() -> {
+            try {
+                pool.invoke(new Walk(this.root, 0, null));
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                put(END);
+            }
+        }, "corpus-walker");
+        walker.setDaemon(true);
+        walker.start();
+        try {
+            Object[] pair;
+            while ((pair = this.found.take()) != END) {
+                visitor.visit((File) pair[0], (File) pair[1], (String) pair[2]);
+            }
+            walker.join();
+            if (failure.get() != null) {
+                panic(failure.get());
+            }
+        } catch (Exception e) {
+            panic(e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
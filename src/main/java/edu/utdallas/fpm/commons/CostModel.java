@@ -0,0 +1,147 @@
+package edu.utdallas.fpm.commons;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/* predicts how long diffing a file pair takes. pairs that were diffed in a
+ * past run are predicted to take as long as they did; other pairs are
+ * predicted from their size, as matching cost grows super-linearly with the
+ * number of nodes. the coefficient is fitted on the history, if any.
+ * the history is a CSV of (buggy file, fixed file, milliseconds) records, to
+ * which each run appends; it is compacted to the newest record of each pair
+ * whenever it is loaded */
+public final class CostModel {
+    private static final double EXPONENT = 1.5D;
+    /* milliseconds per (byte ^ EXPONENT) when there is no history to fit on */
+    private static final double DEFAULT_COEFFICIENT = 1E-4D;
+
+    private final Map<String, Long> history;
+    private final double coefficient;
+    private final CSVPrinter historyWriter;
+
+    private CostModel(final Map<String, Long> history,
+                      final double coefficient,
+                      final CSVPrinter historyWriter) {
+        this.history = history;
+        this.coefficient = coefficient;
+        this.historyWriter = historyWriter;
+    }
+
+    /* historyFile is read if it exists, and durations measured in this run are
+     * appended to it. null historyFile means size-only predictions */
+    public static CostModel load(final File historyFile) throws IOException {
+        final Map<String, Long> history = new HashMap<>();
+        if (historyFile != null && historyFile.isFile()) {
+            final int records = read(historyFile, history);
+            if (records != history.size()) {
+                compact(historyFile, history);
+            }
+        }
+        double sum = 0D;
+        int count = 0;
+        for (final Map.Entry<String, Long> entry : history.entrySet()) {
+            final String[] paths = pathsOf(entry.getKey());
+            final double size = sizeTerm(new File(paths[0]), new File(paths[1]));
+            if (size > 0D) {
+                sum += entry.getValue() / size;
+                count++;
+            }
+        }
+        final double coefficient = count == 0 ? DEFAULT_COEFFICIENT : sum / count;
+        final CSVPrinter historyWriter = historyFile == null
+                ? null
+                : CSVFormat.DEFAULT.print(new FileWriter(historyFile, true));
+        return new CostModel(history, coefficient, historyWriter);
+    }
+
+    /* the newest duration of each pair goes into history; returns the number
+     * of records read */
+    private static int read(final File historyFile, final Map<String, Long> history) throws IOException {
+        int records = 0;
+        try (CSVParser parser = new CSVParser(Files.newBufferedReader(historyFile.toPath()), CSVFormat.DEFAULT)) {
+            for (final CSVRecord record : parser) {
+                records++;
+                if (record.size() != 3) {
+                    continue;
+                }
+                try {
+                    history.put(keyOf(record.get(0), record.get(1)), Long.parseLong(record.get(2).trim()));
+                } catch (NumberFormatException e) {
+                    /* torn line */
+                }
+            }
+        } catch (IllegalStateException e) {
+            /* torn quoted field at the end */
+            records++;
+        }
+        return records;
+    }
+
+    /* replaces the history with one record per pair */
+    private static void compact(final File historyFile, final Map<String, Long> history) throws IOException {
+        final Path path = historyFile.getAbsoluteFile().toPath();
+        final Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try (CSVPrinter printer = CSVFormat.DEFAULT.print(Files.newBufferedWriter(temp))) {
+            for (final Map.Entry<String, Long> entry : history.entrySet()) {
+                final String[] paths = pathsOf(entry.getKey());
+                printer.printRecord(paths[0], paths[1], entry.getValue());
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /* paths cannot contain NUL */
+    private static String keyOf(final String buggyPath, final String fixedPath) {
+        return buggyPath + '\0' + fixedPath;
+    }
+
+    private static String[] pathsOf(final String key) {
+        final int nul = key.indexOf('\0');
+        return new String[] {key.substring(0, nul), key.substring(nul + 1)};
+    }
+
+    private static double sizeTerm(final File buggy, final File fixed) {
+        return Math.pow(buggy.length() + fixed.length(), EXPONENT);
+    }
+
+    /* predicted milliseconds. this looks the sizes of the files up, so callers
+     * should not ask twice for the same pair */
+    public double estimate(final File buggy, final File fixed) {
+        final Long millis = this.history.get(keyOf(buggy.getPath(), fixed.getPath()));
+        if (millis != null) {
+            return millis;
+        }
+        return this.coefficient * sizeTerm(buggy, fixed);
+    }
+
+    public void record(final File buggy, final File fixed, final long millis) {
+        if (this.historyWriter != null) {
+            synchronized (this.historyWriter) {
+                try {
+                    this.historyWriter.printRecord(buggy.getPath(), fixed.getPath(), millis);
+                } catch (IOException e) {
+                    /* a lost record only makes the next prediction less accurate */
+                }
+            }
+        }
+    }
+
+    public void close() {
+        if (this.historyWriter != null) {
+            try {
+                this.historyWriter.close();
+            } catch (IOException e) {
+                /* who cares?! */
+            }
+        }
+    }
+}
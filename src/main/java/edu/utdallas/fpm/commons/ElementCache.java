@@ -0,0 +1,85 @@
+package edu.utdallas.fpm.commons;
+
+import spoon.reflect.declaration.CtElement;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/* per-diff memo of what Util computes over spoon elements: printed forms,
+ * hash codes, and the descendants compared by Util.sibling. elements are keyed
+ * by identity, as the trees of a diff do not change while it is being mined.
+ * the memo lives on the mining thread between open and close; outside of it,
+ * nothing is memoized */
+public final class ElementCache {
+    private static final ThreadLocal<ElementCache> CURRENT = new ThreadLocal<>();
+
+    /* the descendants Util.sibling compares, together with a fingerprint of
+     * them. the fingerprint sums the hash codes of the elements, so equal sets
+     * have equal fingerprints, and different fingerprints rule out equality
+     * without looking at the elements */
+    static final class Descendants {
+        private final Set<CtElement> elements;
+        private final long fingerprint;
+
+        Descendants(final Set<CtElement> elements) {
+            long fingerprint = 0L;
+            for (final CtElement element : elements) {
+                fingerprint += hashOf(element);
+            }
+            this.elements = elements;
+            this.fingerprint = fingerprint;
+        }
+
+        boolean sameAs(final Descendants that) {
+            return this.elements.size() == that.elements.size()
+                    && this.fingerprint == that.fingerprint
+                    && this.elements.equals(that.elements);
+        }
+    }
+
+    private final Map<CtElement, String> printed;
+    private final Map<CtElement, Integer> hashes;
+    private final Map<CtElement, Descendants> descendants;
+
+    private ElementCache() {
+        this.printed = new IdentityHashMap<>();
+        this.hashes = new IdentityHashMap<>();
+        this.descendants = new IdentityHashMap<>();
+    }
+
+    public static void open() {
+        CURRENT.set(new ElementCache());
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    /* pretty-printing is by far the most expensive thing done to an element */
+    static String printedOf(final CtElement element) {
+        final ElementCache cache = CURRENT.get();
+        if (cache == null) {
+            return element.toString();
+        }
+        return cache.printed.computeIfAbsent(element, CtElement::toString);
+    }
+
+    static int hashOf(final CtElement element) {
+        final ElementCache cache = CURRENT.get();
+        if (cache == null) {
+            return element.hashCode();
+        }
+        return cache.hashes.computeIfAbsent(element, CtElement::hashCode);
+    }
+
+    static Descendants descendantsOf(final CtElement element,
+                                     final Function<CtElement, Descendants> compute) {
+        final ElementCache cache = CURRENT.get();
+        if (cache == null) {
+            return compute.apply(element);
+        }
+        return cache.descendants.computeIfAbsent(element, compute);
+    }
+}
@@ -3,10 +3,12 @@ package edu.utdallas.fpm.commons;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.*;
 import java.nio.file.Files;
-import java.util.stream.StreamSupport;
+import java.util.*;
 
 import static edu.utdallas.fpm.commons.Util.panic;
 
@@ -38,16 +40,44 @@ public final class FileListParser {
         return record.get(1).trim();
     }
 
-    public void parse(final FilePairVisitor visitor, final boolean parallelInvocation) {
+    /* pairs are visited in CSV order; the visitor is in charge of parallelism */
+    public void parse(final FilePairVisitor visitor) {
         try (CSVParser parser = new CSVParser(this.reader, CSVFormat.DEFAULT)) {
-            StreamSupport.stream(parser.spliterator(), parallelInvocation)
-                    .forEach(record -> {
-                        final File buggy = new File(getBuggyFileName(record));
-                        final File fixed = new File(getFixedFileName(record));
-                        visitor.visit(buggy, fixed);
-                    });
+            for (final CSVRecord record : parser) {
+                final File buggy = new File(getBuggyFileName(record));
+                final File fixed = new File(getFixedFileName(record));
+                visitor.visit(buggy, fixed);
+            }
         } catch (Exception e) {
             panic(e);
         }
     }
+
+    /* longest-processing-time-first: all pairs are read, and then visited by
+     * decreasing predicted cost. as long as the visitor dispatches pairs to its
+     * workers in the order it receives them, each worker takes the most
+     * expensive pair left whenever it becomes free, which flattens the tail of
+     * a parallel run */
+    public void parse(final FilePairVisitor visitor, final CostModel costModel) {
+        final List<Pair<File, File>> pairs = new ArrayList<>();
+        try (CSVParser parser = new CSVParser(this.reader, CSVFormat.DEFAULT)) {
+            for (final CSVRecord record : parser) {
+                pairs.add(new ImmutablePair<>(new File(getBuggyFileName(record)),
+                        new File(getFixedFileName(record))));
+            }
+        } catch (Exception e) {
+            panic(e);
+        }
+        /* estimates look file sizes up, so each pair is estimated once, not at
+         * every comparison */
+        final Map<Pair<File, File>, Double> costs = new HashMap<>();
+        for (final Pair<File, File> pair : pairs) {
+            costs.computeIfAbsent(pair, p -> costModel.estimate(p.getLeft(), p.getRight()));
+        }
+        final Comparator<Pair<File, File>> byCost = Comparator.comparingDouble(costs::get);
+        pairs.sort(byCost.reversed());
+        for (final Pair<File, File> pair : pairs) {
+            visitor.visit(pair.getLeft(), pair.getRight());
+        }
+    }
 }
@@ -4,4 +4,9 @@ import java.io.File;
 
 public interface FilePairVisitor {
     void visit(File buggy, File fixed);
+
+    /* for inputs that know which project the pair comes from */
+    default void visit(File buggy, File fixed, String projectName) {
+        visit(buggy, fixed);
+    }
 }
@@ -0,0 +1,146 @@
+package edu.utdallas.fpm.commons;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static edu.utdallas.fpm.commons.Util.panic;
+
+/* streams the java files modified by the bug-fix commits of a local git
+ * repository, without checking anything out. a single `git log --raw` lists
+ * the fix commits, selected by a case-insensitive extended regular expression
+ * on their messages, together with the blob ids of the modified files; a
+ * single `git cat-file --batch` then serves the contents of these blobs.
+ * a pair is named after git revision syntax, as in <commit>~1:<path> and
+ * <commit>:<path>, relative to the repository */
+public final class GitHistoryReader implements SourcePairReader {
+    private static final String COMMIT_PREFIX = "commit ";
+
+    private final File repository;
+    private final String messagePattern;
+
+    public GitHistoryReader(final File repository, final String messagePattern) {
+        this.repository = repository.getAbsoluteFile();
+        this.messagePattern = messagePattern;
+    }
+
+    private Process git(final String... args) throws IOException {
+        final List<String> command = new ArrayList<>();
+        command.add("git");
+        command.add("-C");
+        command.add(this.repository.getPath());
+        for (final String arg : args) {
+            command.add(arg);
+        }
+        return new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    /* pairs are visited in the order of the log, newest commits first, while
+     * git is still walking the history */
+    @Override
+    public void parse(final SourcePairVisitor visitor) {
+        final String projectName = this.repository.getName();
+        Process log = null;
+        Process catFile = null;
+        try {
+            log = git("log",
+                    "--no-merges",
+                    "--regexp-ignore-case",
+                    "--extended-regexp",
+                    "--grep=" + this.messagePattern,
+                    "--format=" + COMMIT_PREFIX + "%H",
+                    "--raw",
+                    "--no-abbrev",
+                    "--no-renames",
+                    "--diff-filter=M");
+            catFile = git("cat-file", "--batch");
+            final OutputStream blobRequests = catFile.getOutputStream();
+            final InputStream blobs = new BufferedInputStream(catFile.getInputStream());
+            try (BufferedReader commits = new BufferedReader(
+                    new InputStreamReader(log.getInputStream(), StandardCharsets.UTF_8))) {
+                String commit = null;
+                String line;
+                while ((line = commits.readLine()) != null) {
+                    if (line.startsWith(COMMIT_PREFIX)) {
+                        commit = line.substring(COMMIT_PREFIX.length());
+                        continue;
+                    }
+                    /* :<old mode> <new mode> <old blob> <new blob> M<TAB><path>;
+                     * git quotes unusual paths, which then do not end in .java */
+                    if (commit == null || !line.startsWith(":") || !line.endsWith(".java")) {
+                        continue;
+                    }
+                    final int tab = line.indexOf('\t');
+                    final String[] fields = line.substring(1, tab).split(" ");
+                    final String path = line.substring(tab + 1);
+                    final byte[] buggyContent = readBlob(blobRequests, blobs, fields[2]);
+                    final byte[] fixedContent = readBlob(blobRequests, blobs, fields[3]);
+                    if (buggyContent == null || fixedContent == null) {
+                        continue;
+                    }
+                    visitor.visit(SourcePair.ofBytes(new File(this.repository, commit + "~1:" + path).getPath(),
+                            buggyContent,
+                            new File(this.repository, commit + ":" + path).getPath(),
+                            fixedContent,
+                            projectName));
+                }
+            }
+            blobRequests.close();
+            final int status = log.waitFor();
+            if (status != 0) {
+                throw new IOException("git log exited with status " + status);
+            }
+            catFile.waitFor();
+        } catch (Exception e) {
+            panic(e);
+        } finally {
+            if (log != null) {
+                log.destroy();
+            }
+            if (catFile != null) {
+                catFile.destroy();
+            }
+        }
+    }
+
+    /* contents of the blob, or null if the repository does not have it */
+    private static byte[] readBlob(final OutputStream requests,
+                                   final InputStream blobs,
+                                   final String blob) throws IOException {
+        requests.write((blob + "\n").getBytes(StandardCharsets.US_ASCII));
+        requests.flush();
+        /* <blob> blob <size>, or <blob> missing */
+        final String[] header = readLine(blobs).split(" ");
+        if (header.length != 3) {
+            return null;
+        }
+        final byte[] content = new byte[Integer.parseInt(header[2])];
+        int offset = 0;
+        while (offset < content.length) {
+            final int n = blobs.read(content, offset, content.length - offset);
+            if (n < 0) {
+                throw new EOFException("truncated blob " + blob);
+            }
+            offset += n;
+        }
+        if (blobs.read() != '\n') {
+            throw new IOException("malformed blob " + blob);
+        }
+        return content;
+    }
+
+    private static String readLine(final InputStream in) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c < 0) {
+                throw new EOFException("git cat-file is gone");
+            }
+            sb.append((char) c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package edu.utdallas.fpm.commons;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/* line-level diff (Myers' O(ND) algorithm) telling which lines of the buggy
+ * version were deleted and which lines of the fixed version were inserted.
+ * line numbers are 1-based, just like in Spoon source positions */
+public final class LineDiff {
+    private final BitSet deletedLines;
+    private final BitSet insertedLines;
+
+    private LineDiff(final BitSet deletedLines, final BitSet insertedLines) {
+        this.deletedLines = deletedLines;
+        this.insertedLines = insertedLines;
+    }
+
+    public BitSet getDeletedLines() {
+        return this.deletedLines;
+    }
+
+    public BitSet getInsertedLines() {
+        return this.insertedLines;
+    }
+
+    public static String[] lines(final CharSequence text) {
+        return text.toString().split("\n", -1);
+    }
+
+    /* null if the two versions are more than maxEdits line edits apart */
+    public static LineDiff compute(final String[] buggy, final String[] fixed, final int maxEdits) {
+        /* common prefix and suffix are never part of the edit script */
+        int prefix = 0;
+        while (prefix < buggy.length && prefix < fixed.length
+                && buggy[prefix].equals(fixed[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < buggy.length - prefix && suffix < fixed.length - prefix
+                && buggy[buggy.length - 1 - suffix].equals(fixed[fixed.length - 1 - suffix])) {
+            suffix++;
+        }
+        final int n = buggy.length - prefix - suffix;
+        final int m = fixed.length - prefix - suffix;
+        final BitSet deleted = new BitSet();
+        final BitSet inserted = new BitSet();
+        final int max = Math.min(n + m, maxEdits);
+        final int offset = max + 1;
+        final int[] v = new int[2 * max + 3];
+        /* trace.get(d) holds the furthest reaching x of each diagonal k in
+         * [-(d - 1), d - 1] as they were before round d */
+        final List<int[]> trace = new ArrayList<>();
+        for (int d = 0; d <= max; d++) {
+            final int[] snapshot = new int[Math.max(0, 2 * d - 1)];
+            for (int k = -(d - 1); k <= d - 1; k++) {
+                snapshot[k + d - 1] = v[k + offset];
+            }
+            trace.add(snapshot);
+            for (int k = -d; k <= d; k += 2) {
+                int x;
+                if (k == -d || (k != d && v[k - 1 + offset] < v[k + 1 + offset])) {
+                    x = v[k + 1 + offset];
+                } else {
+                    x = v[k - 1 + offset] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m && buggy[prefix + x].equals(fixed[prefix + y])) {
+                    x++;
+                    y++;
+                }
+                v[k + offset] = x;
+                if (x >= n && y >= m) {
+                    backtrack(trace, d, n, m, prefix, deleted, inserted);
+                    return new LineDiff(deleted, inserted);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void backtrack(final List<int[]> trace,
+                                  final int edits,
+                                  int x,
+                                  int y,
+                                  final int prefix,
+                                  final BitSet deleted,
+                                  final BitSet inserted) {
+        for (int d = edits; d > 0; d--) {
+            final int[] v = trace.get(d);
+            final int k = x - y;
+            final int prevK;
+            if (k == -d || (k != d && v[k - 1 + d - 1] < v[k + 1 + d - 1])) {
+                prevK = k + 1;
+            } else {
+                prevK = k - 1;
+            }
+            final int prevX = v[prevK + d - 1];
+            final int prevY = prevX - prevK;
+            while (x > prevX && y > prevY) {
+                x--;
+                y--;
+            }
+            if (prevK == k + 1) {
+                inserted.set(prefix + prevY + 1); // fixed line number prevY (0-based)
+            } else {
+                deleted.set(prefix + prevX + 1); // buggy line number prevX (0-based)
+            }
+            x = prevX;
+            y = prevY;
+        }
+    }
+}
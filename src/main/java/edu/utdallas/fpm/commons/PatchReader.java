@@ -0,0 +1,80 @@
+package edu.utdallas.fpm.commons;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static edu.utdallas.fpm.commons.Util.panic;
+import static java.lang.System.out;
+
+/* mines patches instead of fixed copies. each record of the CSV names a base
+ * and a unified diff against it: the base is either the buggy file itself,
+ * for a patch to one file, or the checkout that the paths of the patch are
+ * relative to, in which case their a/ and b/ prefixes are dropped as git
+ * apply does. the fixed version of every modified java file is rebuilt in
+ * memory, and named <patch>/<path> */
+public final class PatchReader implements SourcePairReader {
+    private final Reader reader;
+
+    public PatchReader(final File patchListCsv) {
+        Reader reader = null;
+        try {
+            reader = Files.newBufferedReader(patchListCsv.toPath());
+        } catch (Exception e) {
+            panic(e);
+        }
+        this.reader = reader;
+    }
+
+    @Override
+    public void parse(final SourcePairVisitor visitor) {
+        try (CSVParser parser = new CSVParser(this.reader, CSVFormat.DEFAULT)) {
+            for (final CSVRecord record : parser) {
+                final File base = new File(record.get(0).trim());
+                final File patch = new File(record.get(1).trim());
+                visitPatch(base, patch, visitor);
+            }
+        } catch (Exception e) {
+            panic(e);
+        }
+    }
+
+    private static void visitPatch(final File base,
+                                   final File patch,
+                                   final SourcePairVisitor visitor) throws IOException {
+        final String patchText = new String(Files.readAllBytes(patch.toPath()), StandardCharsets.UTF_8);
+        for (final UnifiedDiff diff : UnifiedDiff.parse(patchText)) {
+            final String oldPath = diff.getOldPath();
+            final String newPath = diff.getNewPath();
+            /* added and deleted files have nothing to pair with */
+            if (oldPath == null || newPath == null || !newPath.endsWith(".java")) {
+                continue;
+            }
+            final File buggy = base.isDirectory() ? new File(base, stripPrefix(oldPath)) : base;
+            final String buggySource;
+            final String fixedSource;
+            try {
+                buggySource = new String(Files.readAllBytes(buggy.toPath()), StandardCharsets.UTF_8);
+                fixedSource = diff.apply(buggySource);
+            } catch (IOException | IllegalArgumentException e) {
+                out.printf("warning: \'%s\' swallowed while applying %s to %s.%n", e.getMessage(), patch, buggy);
+                continue;
+            }
+            visitor.visit(SourcePair.ofChars(buggy.getPath(),
+                    buggySource,
+                    new File(patch, stripPrefix(newPath)).getPath(),
+                    fixedSource,
+                    null));
+        }
+    }
+
+    private static String stripPrefix(final String path) {
+        return path.startsWith("a/") || path.startsWith("b/") ? path.substring(2) : path;
+    }
+}
@@ -0,0 +1,102 @@
+package edu.utdallas.fpm.commons;
+
+import java.nio.charset.StandardCharsets;
+
+/* a hash of the token stream of a Java source, ignoring comments and
+ * formatting. two sources with the same fingerprint have the same AST, so
+ * there is nothing to mine from a pair of them */
+public final class SourceFingerprint {
+    private SourceFingerprint() {
+
+    }
+
+    /* the encoding of the source is not known, so each byte is taken for a
+     * char of its own: no two sources are told apart by bytes alone that
+     * decoding would make equal, as with invalid UTF-8 in literals */
+    public static String of(final byte[] source) {
+        return of(new String(source, StandardCharsets.ISO_8859_1));
+    }
+
+    public static String of(final CharSequence source) {
+        return Util.digest(normalize(source).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /* drops comments and whitespace, but keeps a single blank wherever dropping
+     * it would glue two tokens together (e.g. "int x" or "a - -b") */
+    static String normalize(final CharSequence source) {
+        final StringBuilder sb = new StringBuilder(source.length());
+        final int length = source.length();
+        boolean pendingBlank = false;
+        int i = 0;
+        while (i < length) {
+            final char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingBlank = true;
+                i++;
+            } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '/') {
+                while (i < length && source.charAt(i) != '\n') {
+                    i++;
+                }
+                pendingBlank = true;
+            } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '*') {
+                final int end = indexOf(source, "*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                pendingBlank = true;
+            } else {
+                if (pendingBlank && sb.length() > 0 && glues(sb.charAt(sb.length() - 1), c)) {
+                    sb.append(' ');
+                }
+                pendingBlank = false;
+                if (c == '"' || c == '\'') {
+                    i = copyLiteral(source, i, sb);
+                } else {
+                    sb.append(c);
+                    i++;
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean glues(final char previous, final char next) {
+        if (Character.isJavaIdentifierPart(previous) && Character.isJavaIdentifierPart(next)) {
+            return true;
+        }
+        return isOperator(previous) && isOperator(next);
+    }
+
+    private static boolean isOperator(final char c) {
+        return "+-*/%=<>!&|^~?:.".indexOf(c) >= 0;
+    }
+
+    /* copies a string or character literal verbatim, returns the index right after it */
+    private static int copyLiteral(final CharSequence source, int i, final StringBuilder sb) {
+        final char quote = source.charAt(i);
+        sb.append(quote);
+        i++;
+        while (i < source.length()) {
+            final char c = source.charAt(i++);
+            sb.append(c);
+            if (c == '\\' && i < source.length()) {
+                sb.append(source.charAt(i++));
+            } else if (c == quote || c == '\n') {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static int indexOf(final CharSequence source, final String what, final int from) {
+        final int length = source.length() - what.length();
+        for (int i = from; i <= length; i++) {
+            boolean found = true;
+            for (int j = 0; j < what.length() && found; j++) {
+                found = source.charAt(i + j) == what.charAt(j);
+            }
+            if (found) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
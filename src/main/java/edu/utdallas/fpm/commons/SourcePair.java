@@ -0,0 +1,99 @@
+package edu.utdallas.fpm.commons;
+
+import java.nio.charset.StandardCharsets;
+
+/* a buggy and a fixed version of a source file, held in memory. the contents
+ * are kept in whichever form the input has them in, raw bytes or characters,
+ * and are only converted, as utf-8, when the other form is asked for, at most
+ * once per side. a pair is meant for a single thread at a time. names
+ * only identify the two versions; they need not exist on disk.
+ * the project name is optional, and is null if it is to be worked out from
+ * the names */
+public final class SourcePair {
+    private final String buggyName;
+    private final String fixedName;
+    private final String projectName;
+    private final boolean hasBytes;
+    private byte[] buggyBytes;
+    private byte[] fixedBytes;
+    private String buggyChars;
+    private String fixedChars;
+
+    private SourcePair(final String buggyName,
+                       final byte[] buggyBytes,
+                       final String buggyChars,
+                       final String fixedName,
+                       final byte[] fixedBytes,
+                       final String fixedChars,
+                       final String projectName) {
+        this.buggyName = buggyName;
+        this.fixedName = fixedName;
+        this.projectName = projectName;
+        this.hasBytes = buggyBytes != null;
+        this.buggyBytes = buggyBytes;
+        this.fixedBytes = fixedBytes;
+        this.buggyChars = buggyChars;
+        this.fixedChars = fixedChars;
+    }
+
+    public static SourcePair ofBytes(final String buggyName,
+                                     final byte[] buggy,
+                                     final String fixedName,
+                                     final byte[] fixed,
+                                     final String projectName) {
+        return new SourcePair(buggyName, buggy, null, fixedName, fixed, null, projectName);
+    }
+
+    public static SourcePair ofChars(final String buggyName,
+                                     final String buggy,
+                                     final String fixedName,
+                                     final String fixed,
+                                     final String projectName) {
+        return new SourcePair(buggyName, null, buggy, fixedName, null, fixed, projectName);
+    }
+
+    public String getBuggyName() {
+        return this.buggyName;
+    }
+
+    public String getFixedName() {
+        return this.fixedName;
+    }
+
+    public String getProjectName() {
+        return this.projectName;
+    }
+
+    /* true iff the contents are held as bytes */
+    public boolean hasBytes() {
+        return this.hasBytes;
+    }
+
+    public byte[] getBuggyBytes() {
+        if (this.buggyBytes == null) {
+            this.buggyBytes = this.buggyChars.getBytes(StandardCharsets.UTF_8);
+        }
+        return this.buggyBytes;
+    }
+
+    public byte[] getFixedBytes() {
+        if (this.fixedBytes == null) {
+            this.fixedBytes = this.fixedChars.getBytes(StandardCharsets.UTF_8);
+        }
+        return this.fixedBytes;
+    }
+
+    public String getBuggySource() {
+        if (this.buggyChars == null) {
+            this.buggyChars = new String(this.buggyBytes, StandardCharsets.UTF_8);
+        }
+        return this.buggyChars;
+    }
+
+    public String getFixedSource() {
+        if (this.fixedChars == null) {
+            this.fixedChars = new String(this.fixedBytes, StandardCharsets.UTF_8);
+        }
+        return this.fixedChars;
+    }
+}
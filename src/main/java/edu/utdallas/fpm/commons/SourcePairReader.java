@@ -0,0 +1,6 @@
+package edu.utdallas.fpm.commons;
+
+/* an input that produces its pairs in memory */
+public interface SourcePairReader {
+    void parse(SourcePairVisitor visitor);
+}
@@ -0,0 +1,5 @@
+package edu.utdallas.fpm.commons;
+
+public interface SourcePairVisitor {
+    void visit(SourcePair pair);
+}
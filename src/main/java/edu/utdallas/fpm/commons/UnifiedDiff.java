@@ -0,0 +1,181 @@
+package edu.utdallas.fpm.commons;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/* the changes that a unified diff makes to one file, as written by diff -u,
+ * git diff or git format-patch. applying them rebuilds the new version of the
+ * file from the old one; like patch, a hunk that does not apply where its
+ * header says is looked for elsewhere, but never with fuzz */
+public final class UnifiedDiff {
+    private static final Pattern HUNK_HEADER =
+            Pattern.compile("^@@ -(\\d+)(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@");
+    private static final String DEV_NULL = "/dev/null";
+
+    private final String oldPath;
+    private final String newPath;
+    private final List<Hunk> hunks;
+
+    private static final class Hunk {
+        final int oldStart;
+        final List<String> oldLines;
+        final List<String> newLines;
+        boolean oldNoNewline;
+        boolean newNoNewline;
+
+        Hunk(final int oldStart) {
+            this.oldStart = oldStart;
+            this.oldLines = new ArrayList<>();
+            this.newLines = new ArrayList<>();
+        }
+    }
+
+    private UnifiedDiff(final String oldPath, final String newPath) {
+        this.oldPath = oldPath;
+        this.newPath = newPath;
+        this.hunks = new ArrayList<>();
+    }
+
+    /* path of the old version as written in the patch, or null for a new file */
+    public String getOldPath() {
+        return this.oldPath;
+    }
+
+    /* path of the new version as written in the patch, or null for a deleted file */
+    public String getNewPath() {
+        return this.newPath;
+    }
+
+    /* the per-file diffs of a patch, in the order of the patch */
+    public static List<UnifiedDiff> parse(final CharSequence patch) {
+        final List<UnifiedDiff> diffs = new ArrayList<>();
+        final String[] lines = LineDiff.lines(patch);
+        UnifiedDiff current = null;
+        int i = 0;
+        while (i < lines.length) {
+            final String line = lines[i++];
+            if (line.startsWith("--- ") && i < lines.length && lines[i].startsWith("+++ ")) {
+                current = new UnifiedDiff(path(line), path(lines[i++]));
+                diffs.add(current);
+                continue;
+            }
+            final Matcher matcher = HUNK_HEADER.matcher(line);
+            if (current == null || !matcher.find()) {
+                continue; // git headers, mail text, and the like
+            }
+            final int oldCount = matcher.group(2) == null ? 1 : Integer.parseInt(matcher.group(2));
+            final int newCount = matcher.group(4) == null ? 1 : Integer.parseInt(matcher.group(4));
+            final Hunk hunk = new Hunk(Integer.parseInt(matcher.group(1)));
+            char last = ' ';
+            while (i < lines.length
+                    && (hunk.oldLines.size() < oldCount
+                    || hunk.newLines.size() < newCount
+                    || lines[i].startsWith("\\"))) {
+                final String body = lines[i++];
+                /* some tools strip the blank of empty context lines */
+                final char type = body.isEmpty() ? ' ' : body.charAt(0);
+                final String text = body.isEmpty() ? "" : body.substring(1);
+                switch (type) {
+                    case ' ':
+                        hunk.oldLines.add(text);
+                        hunk.newLines.add(text);
+                        break;
+                    case '-':
+                        hunk.oldLines.add(text);
+                        break;
+                    case '+':
+                        hunk.newLines.add(text);
+                        break;
+                    case '\\': // no newline at end of file
+                        hunk.oldNoNewline |= last != '+';
+                        hunk.newNoNewline |= last != '-';
+                        continue;
+                    default:
+                        throw new IllegalArgumentException("malformed hunk line: " + body);
+                }
+                last = type;
+            }
+            current.hunks.add(hunk);
+        }
+        return diffs;
+    }
+
+    /* "--- a/x/Y.java<TAB>timestamp" -> "a/x/Y.java" */
+    private static String path(final String header) {
+        String path = header.substring(4);
+        final int tab = path.indexOf('\t');
+        if (tab >= 0) {
+            path = path.substring(0, tab);
+        }
+        path = path.trim();
+        return path.equals(DEV_NULL) ? null : path;
+    }
+
+    /* the new version of the file whose old version is base */
+    public String apply(final CharSequence base) {
+        final String[] split = LineDiff.lines(base);
+        boolean endsWithNewline = split.length > 1 && split[split.length - 1].isEmpty();
+        final List<String> lines = base.length() == 0
+                ? new ArrayList<>()
+                : Arrays.asList(split).subList(0, endsWithNewline ? split.length - 1 : split.length);
+        final List<String> result = new ArrayList<>();
+        int cursor = 0;
+        int offset = 0;
+        for (final Hunk hunk : this.hunks) {
+            final int at;
+            if (hunk.oldLines.isEmpty()) {
+                at = hunk.oldStart + offset; // pure insertions go after line oldStart
+                if (at < cursor || at > lines.size()) {
+                    throw new IllegalArgumentException("hunk at line " + hunk.oldStart + " does not apply");
+                }
+            } else {
+                at = find(lines, hunk.oldLines, hunk.oldStart - 1 + offset, cursor);
+                if (at < 0) {
+                    throw new IllegalArgumentException("hunk at line " + hunk.oldStart + " does not apply");
+                }
+                offset = at - (hunk.oldStart - 1);
+            }
+            result.addAll(lines.subList(cursor, at));
+            result.addAll(hunk.newLines);
+            cursor = at + hunk.oldLines.size();
+            if (cursor == lines.size()) {
+                endsWithNewline = !hunk.newNoNewline;
+            }
+        }
+        result.addAll(lines.subList(cursor, lines.size()));
+        final String text = String.join("\n", result);
+        return endsWithNewline && !result.isEmpty() ? text + "\n" : text;
+    }
+
+    /* index of the occurrence of block in lines, at or after from, that is
+     * closest to expected; -1 if there is none */
+    private static int find(final List<String> lines,
+                            final List<String> block,
+                            final int expected,
+                            final int from) {
+        final int last = lines.size() - block.size();
+        for (int distance = 0; expected - distance >= from || expected + distance <= last; distance++) {
+            final int before = expected - distance;
+            if (before >= from && before <= last && matches(lines, block, before)) {
+                return before;
+            }
+            final int after = expected + distance;
+            if (distance > 0 && after >= from && after <= last && matches(lines, block, after)) {
+                return after;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(final List<String> lines, final List<String> block, final int at) {
+        for (int i = 0; i < block.size(); i++) {
+            if (!lines.get(at + i).equals(block.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
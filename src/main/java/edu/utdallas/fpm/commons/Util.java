@@ -8,8 +8,11 @@ import spoon.reflect.declaration.CtExecutable;
 import spoon.reflect.reference.CtTypeReference;
 
 import java.io.File;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -31,6 +34,24 @@ public final class Util {
         return file.getName();
     }
 
+    /* hex-encoded SHA-256 of the concatenation of the chunks */
+    public static String digest(final byte[]... chunks) {
+        final MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JVM has SHA-256
+        }
+        for (final byte[] chunk : chunks) {
+            md.update(chunk);
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (final byte b : md.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
     public static CtElement getExecutableContainer(final CtElement element) {
         CtElement cursor = element;
         while (!(cursor instanceof CtExecutable)) {
@@ -64,12 +85,12 @@ public final class Util {
         } else if (p1 == null && p2 == null) {
             return true;
         }
-        final Set<CtElement> set1 = getDescendants(e1);
-        final Set<CtElement> set2 = getDescendants(e2);
-        return set1.equals(set2);
+        final ElementCache.Descendants d1 = ElementCache.descendantsOf(e1, Util::getDescendants);
+        final ElementCache.Descendants d2 = ElementCache.descendantsOf(e2, Util::getDescendants);
+        return d1.sameAs(d2);
     }
 
-    private static Set<CtElement> getDescendants(final CtElement element) {
+    private static ElementCache.Descendants getDescendants(final CtElement element) {
         final Set<CtElement> set = new HashSet<>();
         final Set<CtElement> excluded = new HashSet<>();
         excluded.add(element);
@@ -85,28 +106,57 @@ public final class Util {
                 }
             }
         }
-        return set;
+        return new ElementCache.Descendants(set);
     }
 
     public static boolean textEquals(final CtExpression e1, final CtExpression e2) {
-        if (Objects.equals(e1, e2)) {
+        if (equalsElement(e1, e2)) {
             return true;
         }
         if (e1 == null || e2 == null) {
             return false;
         }
-        final String s1 = e1.toString();
-        final String s2 = e2.toString();
-        if (s1.equals(s2)) {
+        final String s1 = ElementCache.printedOf(e1);
+        final String s2 = ElementCache.printedOf(e2);
+        return s1.equals(s2) || parenthesizes(s1, s2) || parenthesizes(s2, s1);
+    }
+
+    /* same as String.format("(%s)", inner).equals(outer) */
+    private static boolean parenthesizes(final String outer, final String inner) {
+        return outer.length() == inner.length() + 2
+                && outer.charAt(0) == '('
+                && outer.charAt(outer.length() - 1) == ')'
+                && outer.regionMatches(1, inner, 0, inner.length());
+    }
+
+    /* Objects.equals for spoon elements. equal elements have equal hash codes,
+     * so elements whose hash codes differ are told apart without comparing
+     * their trees */
+    public static boolean equalsElement(final CtElement e1, final CtElement e2) {
+        if (e1 == e2) {
             return true;
         }
-        if (String.format("(%s)", s1).equals(s2)) {
-            return true;
+        if (e1 == null || e2 == null) {
+            return false;
         }
-        if (String.format("(%s)", s2).equals(s1)) {
+        return ElementCache.hashOf(e1) == ElementCache.hashOf(e2) && e1.equals(e2);
+    }
+
+    /* Objects.equals for lists of spoon elements, such as argument lists */
+    public static boolean equalsElements(final List<? extends CtElement> l1,
+                                         final List<? extends CtElement> l2) {
+        if (l1 == l2) {
             return true;
         }
-        return false;
+        if (l1 == null || l2 == null || l1.size() != l2.size()) {
+            return false;
+        }
+        for (int i = 0; i < l1.size(); i++) {
+            if (!equalsElement(l1.get(i), l2.get(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public static boolean equalsType(final CtTypeReference t1,
@@ -0,0 +1,136 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.commons.LineDiff;
+import gumtree.spoon.AstComparator;
+import gumtree.spoon.diff.operations.Operation;
+import spoon.reflect.cu.SourcePosition;
+import spoon.reflect.cu.position.NoSourcePosition;
+import spoon.reflect.declaration.*;
+import spoon.reflect.visitor.filter.TypeFilter;
+
+import java.util.*;
+
+/* diffs a pair of sources. for large files, the tree matching can be restricted to
+ * the methods (constructors, initializers) enclosing the changed lines: GumTree
+ * matching cost grows super-linearly with the number of nodes, while the
+ * handlers only look at the changed code and its parents, which stay intact.
+ * whenever a change cannot be scoped this way (e.g. a field, an import, or a
+ * method signature changed) the whole compilation units are diffed */
+final class AstDiffer {
+    /* beyond this many line edits, scoping is not worth it */
+    private static final int MAX_LINE_EDITS = 1000;
+
+    /* negative means never scope */
+    private final int hunkScopedMinLines;
+    /* comparators only hold configuration, so each thread keeps its own */
+    private final ThreadLocal<AstComparator> comparators;
+
+    AstDiffer(final int hunkScopedMinLines) {
+        this.hunkScopedMinLines = hunkScopedMinLines;
+        this.comparators = ThreadLocal.withInitial(AstComparator::new);
+    }
+
+    /* the sources are only used to locate changed lines */
+    List<Operation> diff(final CtType<?> buggyType,
+                         final CharSequence buggySource,
+                         final CtType<?> fixedType,
+                         final CharSequence fixedSource) {
+        final AstComparator ac = this.comparators.get();
+        if (this.hunkScopedMinLines >= 0) {
+            final String[] buggyLines = LineDiff.lines(buggySource);
+            final String[] fixedLines = LineDiff.lines(fixedSource);
+            if (Math.max(buggyLines.length, fixedLines.length) >= this.hunkScopedMinLines) {
+                final List<Operation> ops = scopedDiff(ac, buggyType, fixedType, buggyLines, fixedLines);
+                if (ops != null) {
+                    return ops;
+                }
+            }
+        }
+        return new ArrayList<>(ac.compare(buggyType, fixedType).getRootOperations());
+    }
+
+    /* null if the change cannot be scoped */
+    private static List<Operation> scopedDiff(final AstComparator ac,
+                                              final CtType<?> buggyType,
+                                              final CtType<?> fixedType,
+                                              final String[] buggyLines,
+                                              final String[] fixedLines) {
+        final LineDiff lineDiff = LineDiff.compute(buggyLines, fixedLines, MAX_LINE_EDITS);
+        if (lineDiff == null) {
+            return null;
+        }
+        final Map<String, CtExecutable<?>> buggyUnits = units(buggyType);
+        final Map<String, CtExecutable<?>> fixedUnits = units(fixedType);
+        if (buggyUnits == null || fixedUnits == null) {
+            return null;
+        }
+        final Set<String> changedUnits = new LinkedHashSet<>();
+        if (!locate(buggyUnits, lineDiff.getDeletedLines(), buggyLines, changedUnits)
+                || !locate(fixedUnits, lineDiff.getInsertedLines(), fixedLines, changedUnits)) {
+            return null;
+        }
+        final List<Operation> ops = new ArrayList<>();
+        for (final String key : changedUnits) {
+            final CtExecutable<?> buggyUnit = buggyUnits.get(key);
+            final CtExecutable<?> fixedUnit = fixedUnits.get(key);
+            if (buggyUnit == null || fixedUnit == null) {
+                return null; // a method was added, removed, or had its signature changed
+            }
+            ops.addAll(ac.compare(buggyUnit, fixedUnit).getRootOperations());
+        }
+        return ops;
+    }
+
+    /* outermost executables of the type, keyed by declaring type and signature;
+     * null if keys are ambiguous */
+    private static Map<String, CtExecutable<?>> units(final CtType<?> type) {
+        final Map<String, CtExecutable<?>> units = new LinkedHashMap<>();
+        final Map<String, Integer> initializers = new HashMap<>();
+        final List<CtExecutable<?>> executables = type.getElements(new TypeFilter<>(CtExecutable.class));
+        for (final CtExecutable<?> executable : executables) {
+            if (!(executable instanceof CtTypeMember)
+                    || executable.getParent(CtExecutable.class) != null
+                    || executable.getPosition() instanceof NoSourcePosition) {
+                continue; // lambdas, members of anonymous classes, implicit members
+            }
+            final CtType<?> declaringType = executable.getParent(CtType.class);
+            String key = declaringType.getQualifiedName() + "#";
+            if (executable instanceof CtAnonymousExecutable) {
+                final int ordinal = initializers.merge(key, 1, Integer::sum);
+                key += "{}" + ordinal;
+            } else {
+                key += executable.getSignature();
+            }
+            if (units.put(key, executable) != null) {
+                return null;
+            }
+        }
+        return units;
+    }
+
+    /* adds the units enclosing the changed lines to changedUnits; false if a
+     * changed line lies outside of every unit */
+    private static boolean locate(final Map<String, CtExecutable<?>> units,
+                                  final BitSet changedLines,
+                                  final String[] lines,
+                                  final Set<String> changedUnits) {
+        for (int line = changedLines.nextSetBit(0); line >= 0; line = changedLines.nextSetBit(line + 1)) {
+            if (lines[line - 1].trim().isEmpty()) {
+                continue;
+            }
+            String enclosing = null;
+            for (final Map.Entry<String, CtExecutable<?>> unit : units.entrySet()) {
+                final SourcePosition sp = unit.getValue().getPosition();
+                if (sp.getLine() <= line && line <= sp.getEndLine()) {
+                    enclosing = unit.getKey();
+                    break;
+                }
+            }
+            if (enclosing == null) {
+                return false;
+            }
+            changedUnits.add(enclosing);
+        }
+        return true;
+    }
+}
@@ -1,18 +1,17 @@
 package edu.utdallas.fpm.main;
 
 import edu.utdallas.fpm.commons.Util;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
-import edu.utdallas.fpm.pattern.rules.Rule;
 
 import java.util.concurrent.BlockingQueue;
 
 public abstract class Consumer implements Runnable {
-    private static final Pair<Rule, String> END = new ImmutablePair<>(null, null);
-    private final BlockingQueue<Pair<Rule, String>> queue;
+    private static final MinedRule END = new MinedRule(null, null, false);
+    private final BlockingQueue<MinedRule> queue;
+    private final DedupPolicy dedupPolicy;
 
-    public Consumer(BlockingQueue<Pair<Rule, String>> queue) {
+    public Consumer(BlockingQueue<MinedRule> queue, DedupPolicy dedupPolicy) {
         this.queue = queue;
+        this.dedupPolicy = dedupPolicy;
     }
 
     public void kill() throws InterruptedException {
@@ -26,7 +25,11 @@ public abstract class Consumer implements Runnable {
         getMe().start();
     }
 
-    protected abstract void consume(Pair<Rule, String> pair) throws Exception;
+    protected DedupPolicy getDedupPolicy() {
+        return this.dedupPolicy;
+    }
+
+    protected abstract void consume(MinedRule minedRule) throws Exception;
 
     protected abstract void cleanup();
 
@@ -34,11 +37,11 @@ public abstract class Consumer implements Runnable {
     public void run() {
         try {
             while (true) {
-                final Pair<Rule, String> pair = this.queue.take();
-                if (pair == END) {
+                final MinedRule minedRule = this.queue.take();
+                if (minedRule == END) {
                     break; // end the thread
                 }
-                consume(pair);
+                consume(minedRule);
             }
         } catch (Exception e) {
             Util.panic(e);
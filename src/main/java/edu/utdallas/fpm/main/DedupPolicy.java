@@ -0,0 +1,12 @@
+package edu.utdallas.fpm.main;
+
+/* how consumers count the copies of a pair: ONCE keeps only the first copy,
+ * WEIGHTED keeps all of them, as if each copy had been mined on its own */
+public enum DedupPolicy {
+    ONCE,
+    WEIGHTED;
+
+    boolean keeps(final MinedRule minedRule) {
+        return this == WEIGHTED || !minedRule.isDuplicate();
+    }
+}
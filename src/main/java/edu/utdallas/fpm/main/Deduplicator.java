@@ -0,0 +1,133 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.commons.Util;
+import edu.utdallas.fpm.pattern.rules.Rule;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static java.lang.System.out;
+
+/* makes sure that each distinct pair, by the contents of both of its sides,
+ * goes through the pipeline once. the first copy of a pair leads; copies that
+ * come while it is on its way wait for it, and later copies take its result
+ * right away. copies are still emitted, marked as duplicates, so that the
+ * consumers can count them or not.
+ * a pair is remembered for the whole run, so once its leader is done only what
+ * later copies need is kept: the outcome, and the rules, if any, serialized
+ * and deflated */
+final class Deduplicator {
+    private static final MiningResult NOTHING_MINED = MiningResult.mined(Collections.emptyList());
+
+    /* content key -> the list of the copies waiting for the leading copy, or
+     * the compacted result of the leading copy once it is known */
+    private final Map<String, Object> pairs;
+    private int rawCount;
+    private int distinctCount;
+
+    Deduplicator() {
+        this.pairs = new HashMap<>();
+        this.rawCount = 0;
+        this.distinctCount = 0;
+    }
+
+    static String keyOf(final byte[] buggy, final byte[] fixed) {
+        return Util.digest(Util.digest(buggy).getBytes(StandardCharsets.US_ASCII),
+                Util.digest(fixed).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /* a pair mined by an earlier run, when resuming */
+    void seed(final String contentKey, final MiningResult result) {
+        final Object compacted = compact(result);
+        synchronized (this) {
+            this.pairs.putIfAbsent(contentKey, compacted);
+        }
+    }
+
+    /* true iff the task leads, and is to be mined. otherwise the task is a
+     * duplicate; it either has its result already, or it is parked until its
+     * leader completes */
+    @SuppressWarnings("unchecked")
+    synchronized boolean admit(final PairTask task) {
+        this.rawCount++;
+        final Object known = this.pairs.get(task.contentKey);
+        if (known == null) {
+            this.distinctCount++;
+            this.pairs.put(task.contentKey, new ArrayList<PairTask>());
+            return true;
+        }
+        task.duplicate = true;
+        if (known instanceof List) {
+            ((List<PairTask>) known).add(task);
+        } else {
+            task.result = expand(known);
+        }
+        return false;
+    }
+
+    /* records the result of a leading task, and hands back the copies that
+     * were waiting for it, with their results filled in */
+    @SuppressWarnings("unchecked")
+    List<PairTask> complete(final PairTask leader) {
+        final Object compacted = compact(leader.result);
+        final Object known;
+        synchronized (this) {
+            known = this.pairs.put(leader.contentKey, compacted);
+        }
+        if (!(known instanceof List)) {
+            return Collections.emptyList();
+        }
+        final List<PairTask> copies = (List<PairTask>) known;
+        for (final PairTask copy : copies) {
+            copy.result = leader.result;
+        }
+        return copies;
+    }
+
+    private static Object compact(final MiningResult result) {
+        switch (result.getOutcome()) {
+            case MINED:
+                break;
+            case NO_DIFF:
+                return MiningResult.NO_DIFF;
+            case TIMED_OUT:
+                return MiningResult.TIMED_OUT;
+            default:
+                return MiningResult.FAILED;
+        }
+        if (result.getRules().isEmpty()) {
+            return NOTHING_MINED;
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(new DeflaterOutputStream(bytes))) {
+            oos.writeObject(new ArrayList<>(result.getRules()));
+        } catch (IOException e) {
+            throw new IllegalStateException("unable to compact the rules", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MiningResult expand(final Object compacted) {
+        if (compacted instanceof MiningResult) {
+            return (MiningResult) compacted;
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new InflaterInputStream(new ByteArrayInputStream((byte[]) compacted)))) {
+            return MiningResult.mined((List<Rule>) ois.readObject());
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("unable to expand the rules", e);
+        }
+    }
+
+    synchronized void report() {
+        out.printf("Deduplication: %d pair(s), %d distinct%n", this.rawCount, this.distinctCount);
+    }
+}
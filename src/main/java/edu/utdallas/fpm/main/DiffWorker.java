@@ -0,0 +1,68 @@
+package edu.utdallas.fpm.main;
+
+import gumtree.spoon.diff.operations.Operation;
+import spoon.reflect.declaration.CtType;
+
+import java.io.*;
+import java.util.List;
+
+/* entry point of a diff worker process. the parent writes source pairs, as
+ * {buggy name, buggy source, fixed name, fixed source}, to our
+ * standard input, and we write one mining result per pair to our standard
+ * output; a null pair ends the process. everything else that we print goes to
+ * standard error, so that it cannot corrupt the channel.
+ * the only argument is the hunk-scoped diffing threshold (see AstDiffer) */
+public final class DiffWorker {
+    private DiffWorker() {
+
+    }
+
+    public static void main(String[] args) throws Exception {
+        final OutputStream channel = System.out;
+        System.setOut(System.err);
+        final ParsingService parsingService = new ParsingService(1);
+        final AstDiffer astDiffer = new AstDiffer(Integer.parseInt(args[0]));
+        final PatternMiner patternMiner = new PatternMiner();
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(channel))) {
+            oos.flush(); // the parent waits for our stream header
+            final ObjectInputStream ois =
+                    new ObjectInputStream(new BufferedInputStream(System.in));
+            while (true) {
+                final String[] pair = (String[]) ois.readObject();
+                if (pair == null) {
+                    break;
+                }
+                oos.writeObject(mine(parsingService, astDiffer, patternMiner, pair));
+                oos.flush();
+                oos.reset(); // do not let the handle table grow over a long run
+            }
+        } catch (EOFException e) {
+            /* the parent is gone, so are we */
+        }
+    }
+
+    private static MiningResult mine(final ParsingService parsingService,
+                                     final AstDiffer astDiffer,
+                                     final PatternMiner patternMiner,
+                                     final String[] pair) {
+        try {
+            final String buggySource = pair[1];
+            final String fixedSource = pair[3];
+            final CtType<?>[] types = parsingService.parsePair(pair[0],
+                    buggySource,
+                    pair[2],
+                    fixedSource);
+            if (types[0] == null || types[1] == null) {
+                return MiningResult.FAILED;
+            }
+            final List<Operation> ops = astDiffer.diff(types[0], buggySource, types[1], fixedSource);
+            if (ops.isEmpty()) {
+                return MiningResult.NO_DIFF;
+            }
+            return MiningResult.mined(patternMiner.mine(ops));
+        } catch (Exception e) {
+            System.out.printf("warning: \'%s\' swallowed.%n", e.getMessage());
+            return MiningResult.FAILED;
+        }
+    }
+}
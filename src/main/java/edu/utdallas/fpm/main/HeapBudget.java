@@ -0,0 +1,39 @@
+package edu.utdallas.fpm.main;
+
+/* admission control for concurrent diffs: a pair is admitted only while the
+ * estimated heap need of all admitted pairs stays within the budget. a pair
+ * whose estimate exceeds the whole budget is admitted once nothing else is,
+ * and then runs alone */
+final class HeapBudget {
+    /* rough heap bytes taken by the Spoon models, GumTree trees, and mappings
+     * of both sides, per byte of source code */
+    private static final long HEAP_BYTES_PER_SOURCE_BYTE = 256L;
+
+    private final long budget;
+    private long inUse;
+
+    HeapBudget(final long budget) {
+        this.budget = budget;
+        this.inUse = 0L;
+    }
+
+    static long estimate(final long sourceBytes) {
+        return sourceBytes * HEAP_BYTES_PER_SOURCE_BYTE;
+    }
+
+    boolean fits(final long estimate) {
+        return estimate <= this.budget;
+    }
+
+    synchronized void acquire(final long estimate) throws InterruptedException {
+        while (this.inUse > 0L && this.inUse + estimate > this.budget) {
+            wait();
+        }
+        this.inUse += estimate;
+    }
+
+    synchronized void release(final long estimate) {
+        this.inUse -= estimate;
+        notifyAll();
+    }
+}
@@ -0,0 +1,133 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.pattern.rules.Rule;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* append-only journal of the pairs that went through the pipeline, together
+ * with what was mined from them. each record is length-prefixed and flushed
+ * as soon as it is written, so that a crash loses at most the record being
+ * written, which is dropped when the journal is reopened. pairs that timed out
+ * or failed are not journaled, so that a resumed run tries them again */
+final class Journal {
+    private static final class Entry implements Serializable {
+        private static final long serialVersionUID = 2L;
+
+        private final String key;
+        private final String projectName;
+        private final MiningResult result;
+        /* see Deduplicator; null if the pair could not be read */
+        private final String contentKey;
+        private final boolean duplicate;
+
+        Entry(final PairTask task) {
+            this.key = keyOf(task.buggy, task.fixed);
+            this.projectName = task.projectName;
+            this.result = task.result;
+            this.contentKey = task.contentKey;
+            this.duplicate = task.duplicate;
+        }
+    }
+
+    private final DataOutputStream dos;
+    private final Set<String> completed;
+
+    private Journal(final DataOutputStream dos, final Set<String> completed) {
+        this.dos = dos;
+        this.completed = completed;
+    }
+
+    /* when resuming, the rules of the journaled pairs are replayed into the
+     * queue, and their contents are made known to the deduplicator, so that the
+     * consumer ends up with the same state as if the run had never been
+     * interrupted; otherwise the journal starts over */
+    static Journal open(final File file,
+                        final boolean resume,
+                        final BlockingQueue<MinedRule> queue,
+                        final Deduplicator deduplicator) throws IOException {
+        final Set<String> completed = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        if (resume && file.isFile()) {
+            final long length = file.length();
+            long goodLength = 0L;
+            try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                while (goodLength + 4 <= length) {
+                    final int recordLength = dis.readInt();
+                    if (recordLength < 0 || goodLength + 4 + recordLength > length) {
+                        break; // a torn record
+                    }
+                    final byte[] record = new byte[recordLength];
+                    dis.readFully(record);
+                    final Entry entry;
+                    try {
+                        entry = decode(record);
+                    } catch (ClassNotFoundException | IOException e) {
+                        break; // a corrupt record
+                    }
+                    goodLength += 4 + recordLength;
+                    completed.add(entry.key);
+                    if (entry.contentKey != null) {
+                        deduplicator.seed(entry.contentKey, entry.result);
+                    }
+                    if (entry.result.getOutcome() == MiningResult.Outcome.MINED) {
+                        for (final Rule rule : entry.result.getRules()) {
+                            queue.add(new MinedRule(rule, entry.projectName, entry.duplicate));
+                        }
+                    }
+                }
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(goodLength);
+            }
+        }
+        final OutputStream os = new FileOutputStream(file, resume);
+        return new Journal(new DataOutputStream(new BufferedOutputStream(os)), completed);
+    }
+
+    private static Entry decode(final byte[] record) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(record))) {
+            return (Entry) ois.readObject();
+        }
+    }
+
+    static String keyOf(final File buggy, final File fixed) {
+        return buggy.getAbsolutePath() + File.pathSeparator + fixed.getAbsolutePath();
+    }
+
+    int completedCount() {
+        return this.completed.size();
+    }
+
+    boolean isCompleted(final String key) {
+        return this.completed.contains(key);
+    }
+
+    synchronized void record(final PairTask task) throws IOException {
+        final MiningResult.Outcome outcome = task.result.getOutcome();
+        if (outcome != MiningResult.Outcome.MINED && outcome != MiningResult.Outcome.NO_DIFF) {
+            return;
+        }
+        final Entry entry = new Entry(task);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(entry);
+        }
+        this.dos.writeInt(bytes.size());
+        bytes.writeTo(this.dos);
+        this.dos.flush();
+        this.completed.add(entry.key);
+    }
+
+    synchronized void close() {
+        try {
+            this.dos.close();
+        } catch (IOException e) {
+            /* who cares?! */
+        }
+    }
+}
@@ -1,79 +1,43 @@
 package edu.utdallas.fpm.main;
 
 import java.io.*;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
 
+import edu.utdallas.fpm.commons.ArchiveReader;
+import edu.utdallas.fpm.commons.CorpusWalker;
+import edu.utdallas.fpm.commons.CostModel;
 import edu.utdallas.fpm.commons.FileListParser;
 import edu.utdallas.fpm.commons.FilePairVisitor;
-import edu.utdallas.fpm.pattern.handler.regexp.*;
-import edu.utdallas.fpm.pattern.rules.Rule;
-import edu.utdallas.fpm.pattern.rules.UnknownRule;
-import gumtree.spoon.AstComparator;
-import gumtree.spoon.diff.Diff;
-import gumtree.spoon.diff.operations.Operation;
+import edu.utdallas.fpm.commons.GitHistoryReader;
+import edu.utdallas.fpm.commons.PatchReader;
+import edu.utdallas.fpm.commons.SourcePair;
+import edu.utdallas.fpm.commons.SourcePairReader;
+import edu.utdallas.fpm.commons.SourcePairVisitor;
 import org.apache.commons.cli.*;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
-import edu.utdallas.fpm.pattern.handler.OperationHandler;
-import edu.utdallas.fpm.pattern.handler.point.delete.DeleteHandler;
-import edu.utdallas.fpm.pattern.handler.point.insert.InsertHandler;
-import edu.utdallas.fpm.pattern.handler.point.update.UpdateHandler;
-import spoon.reflect.cu.SourcePosition;
-import spoon.reflect.cu.position.NoSourcePosition;
 
 import static java.lang.System.out;
 
 import static edu.utdallas.fpm.commons.Util.*;
 
-public final class Main implements FilePairVisitor {
-    private final RegExpHandler[] regExpHandlers;
-    private final OperationHandler[] pointHandlers;
-    /*1: the rule, 2: project name*/
-    private final BlockingQueue<Pair<Rule, String>> queue;
-    private PrintWriter noDiffPW;
-    private PrintWriter timedOutDiffPW;
-    private final ExecutorService executorService;
-    private final int timeout;
+public final class Main implements FilePairVisitor, SourcePairVisitor {
+    private final MiningPipeline pipeline;
+    private final BlockingQueue<MinedRule> queue;
     private final String command;
+    /* null unless a sample of the corpus is mined */
+    private final Sampler sampler;
 
-    private Main(BlockingQueue<Pair<Rule, String>> queue,
-                 boolean debug,
-                 int timeout,
-                 String command) {
-        this.pointHandlers = new OperationHandler[] {
-                DeleteHandler.createHandlerChain(),
-                InsertHandler.createHandlerChain(),
-                UpdateHandler.createHandlerChain()
-        };
-        this.regExpHandlers = new RegExpHandler[] {
-                new IfShortCircuitHandler(),
-                new DecomposedMethodCallHandler(),
-                new DecomposeBinaryOperatorHandler(),
-                new ConstantificationHandler(),
-                new FunctionOperatorReplacementHandler(),
-                new FieldLocalReplacementHandler(),
-                new LocalToMethodReplacementHandler(),
-                new MethodToLocalReplacementHandler(),
-                new NegateIntExpHandler(),
-                new NegateConditionalHandler(),
-                new FieldMethDerefGuardHandler(),
-                new AccessorHandler(),
-                new SimpleMethCallGuardHandler(),
-                new IncDecRemovalHandler()
-        };
+    private static final String DEFAULT_FIX_PATTERN = "fix|bug|defect|fault|repair";
+
+    private Main(MiningPipeline pipeline,
+                 BlockingQueue<MinedRule> queue,
+                 String command,
+                 Sampler sampler) {
+        this.pipeline = pipeline;
         this.queue = queue;
-        if (debug) {
-            try {
-                this.noDiffPW = new PrintWriter("no-diffs.csv");
-                this.timedOutDiffPW = new PrintWriter("timed-out.csv");
-            } catch (Exception e) {
-                panic(e);
-            }
-        }
-        this.executorService = Executors.newSingleThreadExecutor();
-        this.timeout = timeout;
         this.command = command;
+        this.sampler = sampler;
     }
 
     private static void printHelp(final Options options) {
@@ -81,32 +45,140 @@ public final class Main implements FilePairVisitor {
         formatter.printHelp("fix-pattern-miner", options);
     }
 
-    private void cleanup() {
-        if (this.noDiffPW != null) {
-            this.noDiffPW.close();
+    /* value of a strictly positive integer option; defaultValue if the option
+     * is absent, and 0 if its value is illegal */
+    private static int positiveIntOption(final CommandLine cmd,
+                                         final String option,
+                                         final int defaultValue) {
+        if (!cmd.hasOption(option)) {
+            return defaultValue;
         }
-        if (this.timedOutDiffPW != null) {
-            this.timedOutDiffPW.close();
+        try {
+            return Math.max(0, Integer.parseInt(cmd.getOptionValue(option)));
+        } catch (NumberFormatException e) {
+            return 0;
         }
-        this.executorService.shutdownNow();
     }
 
     public static void main(String[] args) throws Exception {
+        final long startMillis = System.currentTimeMillis();
         final Options options = new Options();
 
         options.addOption("p", "parallel", false, "parallel diff and mining");
+        options.addOption(Option.builder()
+                .longOpt("read-threads")
+                .hasArg()
+                .desc("number of threads reading files with -p (defaults to 2)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("parse-threads")
+                .hasArg()
+                .desc("number of threads parsing files with -p (defaults to the number of workers)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("mine-threads")
+                .hasArg()
+                .desc("number of threads mining diffs with -p (defaults to the number of workers)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("queue-capacity")
+                .hasArg()
+                .desc("capacity of the queue in front of each stage (defaults to the number of workers)")
+                .build());
         options.addOption("s", "serialize", true, "write rules on disk");
         options.addOption("c", "compress", false, "compressed output file");
-        options.addOption("f", "file", true, "input CSV file");
+        options.addOption("f", "file", true, "input CSV file, or a .zip, .tar, .tar.gz or .tgz corpus");
+        options.addOption(Option.builder()
+                .longOpt("discover")
+                .hasArg()
+                .desc("find the file pairs of the dataset under this directory instead")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("project-depth")
+                .hasArg()
+                .desc("with --discover, projects are the directories this deep below the dataset root (defaults to 1)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("patches")
+                .hasArg()
+                .desc("CSV of (base file or checkout, unified diff) records to mine instead")
+                .build());
+        options.addOption("g", "git", true, "mine the fix commits of this local git repository instead");
+        options.addOption(Option.builder()
+                .longOpt("fix-pattern")
+                .hasArg()
+                .desc("extended regular expression matching fix commit messages, ignoring case, for -g (defaults to \"" + DEFAULT_FIX_PATTERN + "\")")
+                .build());
         options.addOption("d", "debug", false, "output timed-out and ineffective diffs");
         options.addOption("t", "diff-timeout", true, "diffing timeout in seconds");
-        options.addRequiredOption("m", "command", true, "parent extraction command (p)*");
+        options.addOption("w", "workers", true, "number of diff workers (defaults to the number of cores)");
+        options.addOption("o", "out-of-process", false, "diff in worker processes that are killed on timeout");
+        options.addOption("r", "recycle", true, "restart worker processes after this many pairs (defaults to 1000)");
+        options.addOption("u", "hunk-scoped", true, "diff only the methods enclosing changed lines in files of at least this many lines");
+        options.addOption("l", "largest-first", false, "diff the most expensive pairs first");
+        options.addOption(Option.builder()
+                .longOpt("cost-history")
+                .hasArg()
+                .desc("file of past diff durations used, and updated, by -l")
+                .build());
+        options.addOption("b", "heap-budget", true, "start new diffs only while their estimated heap need fits in this many megabytes");
+        options.addOption(Option.builder()
+                .longOpt("read-ahead")
+                .hasArg()
+                .desc("read files from disk in path order, out of a window of this many pending pairs")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("read-buffer")
+                .hasArg()
+                .desc("with --read-ahead, megabytes of file contents read ahead of parsing (defaults to 256)")
+                .build());
+        options.addOption("k", "cache", true, "directory of the mined results cache");
+        options.addOption(Option.builder()
+                .longOpt("cache-size")
+                .hasArg()
+                .desc("cache size bound in megabytes (defaults to 1024)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("dedup")
+                .hasArg()
+                .desc("count the copies of a pair once, or weighted by their number (once|weighted, defaults to weighted)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("shard")
+                .hasArg()
+                .desc("mine only shard i of n, 0 <= i < n, of the pairs (i/n)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("merge")
+                .desc("merge the summaries or, with -s, the rule files of shards given as arguments")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("sample")
+                .hasArg()
+                .desc("mine a sample of at most this many listed or discovered pairs, stratified by project, and estimate pattern frequencies")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("sample-time")
+                .hasArg()
+                .desc("stop sampling after this many minutes; pairs not yet read by then are left unmined")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("sample-seed")
+                .hasArg()
+                .desc("seed of the random sample (defaults to 0)")
+                .build());
+        options.addOption("j", "journal", true, "record completed pairs in this file");
+        options.addOption(Option.builder()
+                .longOpt("resume")
+                .desc("skip the pairs already recorded by -j, replaying their rules")
+                .build());
+        options.addOption("m", "command", true, "parent extraction command (p)*, naming the projects of listed, archived or patched files");
         options.addOption("h", "help", false, "prints this help message");
 
         final CommandLineParser commandLineParser = new DefaultParser();
         final CommandLine cmd = commandLineParser.parse(options, args);
 
-        if (cmd.getArgs().length > 0) {
+        if (cmd.getArgs().length > 0 && !cmd.hasOption("merge")) {
             out.println("fatal: too many arguments");
             out.println();
             printHelp(options);
@@ -117,24 +189,77 @@ public final class Main implements FilePairVisitor {
             printHelp(options);
             return;
         }
+
+        if (cmd.hasOption("merge")) {
+            final List<File> inputs = new ArrayList<>();
+            for (final String arg : cmd.getArgs()) {
+                inputs.add(new File(arg));
+            }
+            Merger.merge(inputs,
+                    cmd.hasOption("s") ? new File(cmd.getOptionValue("s")) : null,
+                    cmd.hasOption("c"));
+            return;
+        }
+
+        int shardIndex = 0;
+        int shardCount = 1;
+        if (cmd.hasOption("shard")) {
+            final String[] shard = cmd.getOptionValue("shard").split("/");
+            try {
+                shardIndex = Integer.parseInt(shard[0]);
+                shardCount = Integer.parseInt(shard[1]);
+            } catch (RuntimeException e) {
+                shardCount = 0;
+            }
+            if (shardCount <= 0 || shardIndex < 0 || shardIndex >= shardCount) {
+                out.println("fatal: illegal shard");
+                out.println();
+                printHelp(options);
+                return;
+            }
+        }
         /* blocking queues are thread-safe */
-        final BlockingQueue<Pair<Rule, String>> queue = new LinkedBlockingDeque<>();
+        final BlockingQueue<MinedRule> queue = new LinkedBlockingDeque<>();
         final Consumer queueConsumer;
 
+        final DedupPolicy dedupPolicy;
+        try {
+            dedupPolicy = DedupPolicy.valueOf(cmd.getOptionValue("dedup", "weighted").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            out.println("fatal: illegal deduplication policy");
+            out.println();
+            printHelp(options);
+            return;
+        }
+
         if (cmd.hasOption("s")) {
             final boolean compress = cmd.hasOption("c");
             queueConsumer = Serializer.build(queue,
+                    dedupPolicy,
                     new File(cmd.getOptionValue("s")),
                     compress);
         } else {
-            queueConsumer = StatisticsRenderer.build(queue);
+            queueConsumer = StatisticsRenderer.build(queue, dedupPolicy);
         }
 
-        final FileListParser parser;
+        FileListParser parser = null;
+        SourcePairReader sourcePairReader = null;
+        File datasetRoot = null;
 
-        if (cmd.hasOption("f")) {
-            final String fileName = cmd.getOptionValue("f");
-            parser = new FileListParser(new File(fileName));
+        if (cmd.hasOption("discover")) {
+            datasetRoot = new File(cmd.getOptionValue("discover"));
+        } else if (cmd.hasOption("patches")) {
+            sourcePairReader = new PatchReader(new File(cmd.getOptionValue("patches")));
+        } else if (cmd.hasOption("g")) {
+            sourcePairReader = new GitHistoryReader(new File(cmd.getOptionValue("g")),
+                    cmd.getOptionValue("fix-pattern", DEFAULT_FIX_PATTERN));
+        } else if (cmd.hasOption("f")) {
+            final File file = new File(cmd.getOptionValue("f"));
+            if (ArchiveReader.isArchive(file)) {
+                sourcePairReader = new ArchiveReader(file);
+            } else {
+                parser = new FileListParser(file);
+            }
         } else {
             parser = new FileListParser();
         }
@@ -153,139 +278,259 @@ public final class Main implements FilePairVisitor {
             timeout = -1;
         }
 
+        int workers;
+        if (cmd.hasOption("w")) {
+            workers = Integer.parseInt(cmd.getOptionValue("w"));
+            if (workers <= 0) {
+                out.println("fatal: illegal number of workers");
+                out.println();
+                printHelp(options);
+                return;
+            }
+        } else {
+            workers = Runtime.getRuntime().availableProcessors();
+        }
+
+        int recycleAfter;
+        if (cmd.hasOption("r")) {
+            recycleAfter = Integer.parseInt(cmd.getOptionValue("r"));
+            if (recycleAfter <= 0) {
+                out.println("fatal: illegal number of pairs per worker process");
+                out.println();
+                printHelp(options);
+                return;
+            }
+        } else {
+            recycleAfter = 1000;
+        }
+
         final String command = cmd.getOptionValue("m");
-        if (!command.matches("(p)*")) {
+        if (command == null && (parser != null || sourcePairReader instanceof ArchiveReader
+                || sourcePairReader instanceof PatchReader)) {
+            out.println("fatal: -m is needed to name the projects of listed, archived or patched files");
+            out.println();
+            printHelp(options);
+            return;
+        }
+        if (command != null && !command.matches("(p)*")) {
             out.println("fatal: command does not match (p)*");
             out.println();
             printHelp(options);
             return;
         }
 
-        final Main visitor = new Main(queue, debug, timeout, command);
-        final boolean parallelInvocation = cmd.hasOption("p");
+        int hunkScopedMinLines;
+        if (cmd.hasOption("u")) {
+            hunkScopedMinLines = Integer.parseInt(cmd.getOptionValue("u"));
+            if (hunkScopedMinLines < 0) {
+                out.println("fatal: illegal number of lines");
+                out.println();
+                printHelp(options);
+                return;
+            }
+        } else {
+            hunkScopedMinLines = -1;
+        }
 
-        parser.parse(visitor, parallelInvocation);
+        ResultCache resultCache = null;
+        if (cmd.hasOption("k")) {
+            long cacheSize = 1024L;
+            if (cmd.hasOption("cache-size")) {
+                cacheSize = Long.parseLong(cmd.getOptionValue("cache-size"));
+                if (cacheSize <= 0L) {
+                    out.println("fatal: illegal cache size");
+                    out.println();
+                    printHelp(options);
+                    return;
+                }
+            }
+            resultCache = ResultCache.open(new File(cmd.getOptionValue("k")),
+                    cacheSize * 1024L * 1024L,
+                    hunkScopedMinLines);
+        }
 
-        visitor.cleanup();
-        queueConsumer.kill();
-    }
+        CostModel costModel = null;
+        if (cmd.hasOption("l") && parser == null) {
+            out.println("fatal: -l needs a list of files to sort");
+            out.println();
+            printHelp(options);
+            return;
+        }
+        if (cmd.hasOption("l")) {
+            final String history = cmd.getOptionValue("cost-history");
+            costModel = CostModel.load(history == null ? null : new File(history));
+        }
 
-    private void reportNoDiff(final File buggy, final File fixed) {
-        out.println("warning: no diff was found.");
-        if (this.noDiffPW != null) {
-            synchronized (this.noDiffPW) {
-                this.noDiffPW.printf("%s,%s%n",
-                        buggy.getAbsolutePath(),
-                        fixed.getAbsolutePath());
-            }
+        final boolean parallelInvocation = cmd.hasOption("p");
+        final int readThreads;
+        final int parseThreads;
+        final int diffThreads;
+        final int mineThreads;
+        if (parallelInvocation) {
+            readThreads = positiveIntOption(cmd, "read-threads", 2);
+            parseThreads = positiveIntOption(cmd, "parse-threads", workers);
+            diffThreads = workers;
+            mineThreads = positiveIntOption(cmd, "mine-threads", workers);
+        } else {
+            readThreads = 1;
+            parseThreads = 1;
+            diffThreads = 1;
+            mineThreads = 1;
+        }
+        final int capacity = positiveIntOption(cmd, "queue-capacity", workers);
+        if (readThreads == 0 || parseThreads == 0 || mineThreads == 0 || capacity == 0) {
+            out.println("fatal: illegal number of threads or queue capacity");
+            out.println();
+            printHelp(options);
+            return;
+        }
+        final int projectDepth = positiveIntOption(cmd, "project-depth", 1);
+        if (projectDepth == 0) {
+            out.println("fatal: illegal project depth");
+            out.println();
+            printHelp(options);
+            return;
         }
-    }
 
-    private void reportTimeOut(final File buggy, final File fixed) {
-        out.println("warning: diffing timed-out!");
-        if (this.timedOutDiffPW != null) {
-            synchronized (this.timedOutDiffPW) {
-                this.timedOutDiffPW.printf("%s,%s%n",
-                        buggy.getAbsolutePath(),
-                        fixed.getAbsolutePath());
+        final boolean sampling = cmd.hasOption("sample") || cmd.hasOption("sample-time");
+        final int sampleCount = positiveIntOption(cmd, "sample", -1);
+        final int sampleMinutes = positiveIntOption(cmd, "sample-time", -1);
+        if (sampleCount == 0 || sampleMinutes == 0) {
+            out.println("fatal: illegal sample size or time budget");
+            out.println();
+            printHelp(options);
+            return;
+        }
+        if (sampling && sourcePairReader != null) {
+            out.println("fatal: only listed or discovered files can be sampled");
+            out.println();
+            printHelp(options);
+            return;
+        }
+        Sampler sampler = null;
+        if (sampling) {
+            try {
+                sampler = new Sampler(Long.parseLong(cmd.getOptionValue("sample-seed", "0")));
+            } catch (NumberFormatException e) {
+                out.println("fatal: illegal sample seed");
+                out.println();
+                printHelp(options);
+                return;
             }
         }
-    }
 
-    private List<Operation> safeDiff(final File buggy,
-                                     final File fixed,
-                                     int timeout) {
-        final Future<List<Operation>> diffTask;
-        synchronized (this.executorService) {
-            diffTask = this.executorService.submit(() -> {
-                final AstComparator ac = new AstComparator();
-                try {
-                    final Diff diff = ac.compare(buggy, fixed);
-                    final List<Operation> ops = new ArrayList<>(diff.getRootOperations());
-                    return new ArrayList<>(diff.getRootOperations());
-                } catch (Exception e) {
-                    out.printf("warning: \'%s\' swallowed.%n", e.getMessage());
-                    return Collections.emptyList();
-                }
-            });
+        final int heapBudget = positiveIntOption(cmd, "b", -1);
+        if (heapBudget == 0) {
+            out.println("fatal: illegal heap budget");
+            out.println();
+            printHelp(options);
+            return;
         }
-        try {
-            if (timeout < 0) {
-                return diffTask.get();
+
+        final int readAheadWindow = positiveIntOption(cmd, "read-ahead", -1);
+        final int readBuffer = positiveIntOption(cmd, "read-buffer", 256);
+        if (readAheadWindow == 0 || readBuffer == 0) {
+            out.println("fatal: illegal read-ahead window or buffer size");
+            out.println();
+            printHelp(options);
+            return;
+        }
+
+        final boolean outOfProcess = cmd.hasOption("o");
+        final MiningPipeline pipeline = new MiningPipeline(queue,
+                timeout,
+                readThreads,
+                parseThreads,
+                diffThreads,
+                mineThreads,
+                capacity,
+                outOfProcess,
+                recycleAfter,
+                hunkScopedMinLines);
+        pipeline.setShard(shardIndex, shardCount);
+        pipeline.setResultCache(resultCache);
+        pipeline.setCostModel(costModel);
+        if (heapBudget > 0) {
+            pipeline.setHeapBudget(new HeapBudget(heapBudget * 1024L * 1024L));
+        }
+        if (readAheadWindow > 0) {
+            pipeline.setReadAhead(readAheadWindow, readBuffer * 1024L * 1024L);
+        }
+        if (cmd.hasOption("j")) {
+            try {
+                final Journal journal = Journal.open(new File(cmd.getOptionValue("j")),
+                        cmd.hasOption("resume"),
+                        queue,
+                        pipeline.getDeduplicator());
+                if (cmd.hasOption("resume")) {
+                    out.printf("Resuming after %d completed pair(s)%n", journal.completedCount());
+                }
+                pipeline.setJournal(journal);
+            } catch (Exception e) {
+                panic(e);
             }
-            return diffTask.get(timeout, TimeUnit.SECONDS);
-        } catch (TimeoutException te) {
-            reportTimeOut(buggy, fixed);
-            if (!diffTask.cancel(true)) {
-                out.println("warning: a diff thread was not cancellable");
+        }
+        if (debug) {
+            try {
+                pipeline.setDebugWriters(new PrintWriter("no-diffs.csv"),
+                        new PrintWriter("timed-out.csv"));
+            } catch (Exception e) {
+                panic(e);
             }
-        } catch (InterruptedException | CancellationException | ExecutionException e) {
-            out.printf("warning: \'%s\' swallowed.%n", e.getMessage());
         }
-        return Collections.emptyList();
+        pipeline.start();
+
+        final Main visitor = new Main(pipeline, queue, command, sampler);
+        if (datasetRoot != null) {
+            new CorpusWalker(datasetRoot, projectDepth, readThreads).parse(visitor);
+        } else if (sourcePairReader != null) {
+            sourcePairReader.parse(visitor);
+        } else if (costModel != null) {
+            parser.parse(visitor, costModel);
+        } else {
+            parser.parse(visitor);
+        }
+
+        if (sampler != null) {
+            final long deadlineMillis = sampleMinutes < 0 ? -1L : startMillis + sampleMinutes * 60_000L;
+            pipeline.setSampleEstimator(new SampleEstimator(sampler.getStratumSizes()));
+            pipeline.setDeadline(deadlineMillis);
+            sampler.submitTo(pipeline, sampleCount, deadlineMillis);
+        }
+
+        pipeline.finish();
+        queueConsumer.kill();
     }
 
     @Override
     public void visit(final File buggy, final File fixed) {
-        out.printf("Queue Size = %d%n", this.queue.size());
-        out.printf("Diffing (%s):%n\t%s%n\t%s%n",
-                buggy.getParentFile().getParent(),
-                buggy.getName(),
-                fixed.getName());
+        submit(new PairTask(buggy, fixed, computeProjectName(buggy, this.command)));
+    }
 
-        final List<Operation> ops = safeDiff(buggy, fixed, this.timeout);
+    @Override
+    public void visit(final File buggy, final File fixed, final String projectName) {
+        submit(new PairTask(buggy, fixed, projectName));
+    }
 
-        ops.sort(Comparator.comparingInt(o -> {
-            final SourcePosition sp = o.getSrcNode().getPosition();
-            if (sp instanceof NoSourcePosition) {
-                return Integer.MAX_VALUE;
-            }
-            return sp.getSourceStart();
-        }));
-
-        if (!ops.isEmpty()) {
-            /* try regular expressions handlers */
-            for (final RegExpHandler regExpHandler : this.regExpHandlers) {
-                regExpHandler.reset();
-                ListIterator<Operation> opLIt = ops.listIterator();
-                Status preStatus = null;
-                while (opLIt.hasNext()) {
-                    final Operation operation = opLIt.next();
-                    final Status curStatus = regExpHandler.handle(operation);
-                    int count = regExpHandler.getConsumed();
-                    if (preStatus == Status.CANDIDATE && curStatus == Status.REJECTED) {
-                        while (count-- > 0) { // go back for count steps. one step will be
-                            opLIt.previous(); // compensated by the call to method next()
-                        }                     // in the next iteration.
-                        regExpHandler.reset();
-                    } else if (curStatus == Status.ACCEPTED) {
-                        while (count-- > 0) { // delete last count operations
-                            opLIt.remove();
-                            if (opLIt.hasPrevious()) {
-                                opLIt.previous();
-                            }
-                        }
-                        final Rule theRule = regExpHandler.getRule();
-                        final String projectName = computeProjectName(buggy, this.command);
-                        this.queue.add(new ImmutablePair<>(theRule, projectName));
-                        regExpHandler.reset();
-                    }
-                    preStatus = curStatus;
-                }
-            }
-            for (final Operation op : ops) {
-                for (final OperationHandler handler : this.pointHandlers) {
-                    if (handler != null && handler.canHandleOperation(op)) {
-                        final Rule rule = handler.handleOperation(op);
-                        if (!(rule instanceof UnknownRule)) {
-                            final String projectName = computeProjectName(buggy, this.command);
-                            this.queue.add(new ImmutablePair<>(rule, projectName));
-                        }
-                    }
-                }
-            }
-        } else {
-            reportNoDiff(buggy, fixed);
+    /* when sampling, pairs are only collected until the input is exhausted */
+    private void submit(final PairTask task) {
+        if (this.sampler != null) {
+            this.sampler.add(task);
+            return;
+        }
+        out.printf("Queue Size = %d%n", this.queue.size());
+        this.pipeline.submit(task);
+    }
+
+    /* in-memory pairs that do not name their project get one from their names,
+     * as file pairs do */
+    @Override
+    public void visit(final SourcePair pair) {
+        out.printf("Queue Size = %d%n", this.queue.size());
+        String projectName = pair.getProjectName();
+        if (projectName == null) {
+            projectName = computeProjectName(new File(pair.getBuggyName()), this.command);
         }
+        this.pipeline.submit(new PairTask(pair, projectName));
     }
 }
@@ -0,0 +1,76 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.pattern.rules.Rule;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.io.*;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.zip.GZIPInputStream;
+
+import static java.lang.System.out;
+
+/* combines the outputs of the shards of a run into the output of the whole
+ * run: either the summaries written next to the statistics, or the rule files
+ * written by Serializer, compressed or not */
+final class Merger {
+    private Merger() {
+
+    }
+
+    /* rule files are merged into a rule file if serializeTo is given, and
+     * into statistics otherwise; summaries only merge into statistics */
+    static void merge(final List<File> inputs,
+                      final File serializeTo,
+                      final boolean compress) throws Exception {
+        final BlockingQueue<MinedRule> queue = new LinkedBlockingDeque<>();
+        final Serializer serializer = serializeTo == null
+                ? null
+                : Serializer.build(queue, DedupPolicy.WEIGHTED, serializeTo, compress);
+        final Summary summary = new Summary();
+        for (final File input : inputs) {
+            out.printf("Merging %s...%n", input.getPath());
+            try (ObjectInputStream ois = new ObjectInputStream(open(input))) {
+                while (true) {
+                    final Object object;
+                    try {
+                        object = ois.readObject();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    if (object instanceof Summary) {
+                        if (serializer != null) {
+                            throw new IllegalArgumentException(input.getPath() + " holds statistics, not rules");
+                        }
+                        summary.merge((Summary) object);
+                    } else {
+                        @SuppressWarnings("unchecked")
+                        final Pair<Rule, String> pair = (Pair<Rule, String>) object;
+                        /* a rule file only has the rules its run kept */
+                        final MinedRule minedRule = new MinedRule(pair.getLeft(), pair.getRight(), false);
+                        if (serializer != null) {
+                            queue.add(minedRule);
+                        } else {
+                            StatisticsRenderer.tally(summary, minedRule, DedupPolicy.WEIGHTED);
+                        }
+                    }
+                }
+            }
+        }
+        if (serializer != null) {
+            serializer.kill();
+        } else {
+            summary.render();
+            summary.save(new File(StatisticsRenderer.SUMMARY_FILE_NAME));
+        }
+    }
+
+    private static InputStream open(final File file) throws IOException {
+        final InputStream in = new BufferedInputStream(new FileInputStream(file));
+        in.mark(2);
+        final boolean gzipped = in.read() == 0x1f && in.read() == 0x8b;
+        in.reset();
+        return gzipped ? new GZIPInputStream(in) : in;
+    }
+}
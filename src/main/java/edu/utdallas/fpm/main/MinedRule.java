@@ -0,0 +1,30 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.pattern.rules.Rule;
+
+/* a rule on its way to the consumer, with the project of the pair it was
+ * mined from. a duplicate rule comes from a copy of a pair whose contents were
+ * already seen in this run (see Deduplicator) */
+public final class MinedRule {
+    private final Rule rule;
+    private final String projectName;
+    private final boolean duplicate;
+
+    public MinedRule(final Rule rule, final String projectName, final boolean duplicate) {
+        this.rule = rule;
+        this.projectName = projectName;
+        this.duplicate = duplicate;
+    }
+
+    public Rule getRule() {
+        return this.rule;
+    }
+
+    public String getProjectName() {
+        return this.projectName;
+    }
+
+    public boolean isDuplicate() {
+        return this.duplicate;
+    }
+}
@@ -0,0 +1,573 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.commons.CostModel;
+import edu.utdallas.fpm.commons.SourceFingerprint;
+import edu.utdallas.fpm.commons.SourcePair;
+import edu.utdallas.fpm.pattern.rules.Rule;
+import gumtree.spoon.diff.operations.Operation;
+import spoon.reflect.declaration.CtType;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.System.out;
+
+/* mines file pairs in five stages, each with its own threads and bounded inbox:
+ *  read:  reads both files, holds back copies of pairs already seen, drops
+ *         formatting-only pairs, answers from the cache
+ *  parse: builds the Spoon models of both sides
+ *  diff:  matches the models with GumTree, under the diff timeout
+ *  mine:  runs the handlers over the operations, each thread with handlers
+ *         of its own
+ *  emit:  hands the rules to the consumer and reports ineffective diffs
+ * when diffs run in worker processes, parsing, diffing and mining all happen
+ * in the diff stage */
+final class MiningPipeline {
+    private final BlockingQueue<MinedRule> queue;
+    private final int timeout;
+    private final ParsingService parsingService;
+    private final AstDiffer astDiffer;
+    /* handlers are stateful, so each mine stage thread has its own miner;
+     * miners lists them all, for the report */
+    private final ThreadLocal<PatternMiner> patternMiner;
+    private final Queue<PatternMiner> miners;
+    /* runs the actual diffs, so that diff stage threads can time them out */
+    private final ExecutorService diffExecutor;
+    /* null unless diffs run in worker processes */
+    private final WorkerProcessPool workerProcessPool;
+    private final Stage<PairTask> readStage;
+    private final Stage<PairTask> parseStage;
+    private final Stage<PairTask> diffStage;
+    private final Stage<PairTask> mineStage;
+    private final Stage<PairTask> emitStage;
+    private final Stage<?>[] stages;
+    private final Deduplicator deduplicator;
+    /* this run mines the pairs of shard shardIndex out of shardCount */
+    private int shardIndex;
+    private int shardCount;
+    private final AtomicInteger outOfShard;
+    /* null unless pairs are read ahead in disk order */
+    private ReadAhead readAhead;
+    /* null unless concurrent diffs are admitted under a heap budget */
+    private HeapBudget heapBudget;
+    /* pairs too large for the heap budget, mined alone at the end */
+    private final Queue<PairTask> deferred;
+    /* null unless results are cached */
+    private ResultCache resultCache;
+    /* null unless pairs are scheduled by cost */
+    private CostModel costModel;
+    /* null unless a sample of the corpus is mined */
+    private SampleEstimator sampleEstimator;
+    /* null unless completed pairs are journaled */
+    private Journal journal;
+    /* pairs not read by then are left unmined; negative if there is no deadline */
+    private volatile long deadlineMillis;
+    private final AtomicInteger pastDeadline;
+    private final AtomicInteger skipped;
+    private PrintWriter noDiffPW;
+    private PrintWriter timedOutDiffPW;
+
+    MiningPipeline(final BlockingQueue<MinedRule> queue,
+                   final int timeout,
+                   final int readThreads,
+                   final int parseThreads,
+                   final int diffThreads,
+                   final int mineThreads,
+                   final int capacity,
+                   final boolean outOfProcess,
+                   final int recycleAfter,
+                   final int hunkScopedMinLines) {
+        this.queue = queue;
+        this.timeout = timeout;
+        this.deduplicator = new Deduplicator();
+        this.shardIndex = 0;
+        this.shardCount = 1;
+        this.outOfShard = new AtomicInteger(0);
+        this.deadlineMillis = -1L;
+        this.pastDeadline = new AtomicInteger(0);
+        if (outOfProcess) {
+            this.parsingService = null;
+            this.astDiffer = null;
+            this.diffExecutor = null;
+            this.workerProcessPool = new WorkerProcessPool(diffThreads,
+                    timeout,
+                    recycleAfter,
+                    hunkScopedMinLines);
+        } else {
+            this.parsingService = new ParsingService(parseThreads);
+            this.astDiffer = new AstDiffer(hunkScopedMinLines);
+            /* at most one diff per diff stage thread is running at any time, but
+             * a timed-out (uncancellable) diff keeps its thread until it is done,
+             * so threads are not pooled in a fixed number. they are daemons so
+             * that a runaway diff cannot keep the JVM alive */
+            this.diffExecutor = Executors.newCachedThreadPool(r -> {
+                final Thread worker = new Thread(r);
+                worker.setDaemon(true);
+                return worker;
+            });
+            this.workerProcessPool = null;
+        }
+        this.miners = new ConcurrentLinkedQueue<>();
+        this.patternMiner = ThreadLocal.withInitial(() -> {
+            final PatternMiner miner = new PatternMiner();
+            this.miners.add(miner);
+            return miner;
+        });
+        this.readStage = new Stage<>("read", readThreads, capacity, this::read, this::failed);
+        this.parseStage = new Stage<>("parse", parseThreads, capacity, this::parse, this::failed);
+        this.diffStage = new Stage<>("diff", diffThreads, capacity, this::diff, this::failed);
+        this.mineStage = new Stage<>("mine", mineThreads, capacity, this::mine, this::failed);
+        this.emitStage = new Stage<>("emit", 1, capacity, this::emit, (task, e) ->
+                out.printf("warning: \'%s\' swallowed while emitting %s.%n", e, task.buggy));
+        this.deferred = new ConcurrentLinkedQueue<>();
+        this.skipped = new AtomicInteger(0);
+        this.stages = new Stage<?>[] {
+                this.readStage,
+                this.parseStage,
+                this.diffStage,
+                this.mineStage,
+                this.emitStage
+        };
+    }
+
+    void setResultCache(final ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    void setCostModel(final CostModel costModel) {
+        this.costModel = costModel;
+    }
+
+    /* pairs are told apart by their contents, so that all copies of a pair,
+     * wherever they are in the corpus, go to the same shard */
+    void setShard(final int shardIndex, final int shardCount) {
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+    }
+
+    private boolean inShard(final String contentKey) {
+        return Long.parseLong(contentKey.substring(0, 15), 16) % this.shardCount == this.shardIndex;
+    }
+
+    Deduplicator getDeduplicator() {
+        return this.deduplicator;
+    }
+
+    void setReadAhead(final int windowSize, final long bufferSize) {
+        this.readAhead = new ReadAhead(windowSize, bufferSize, this.readStage);
+    }
+
+    void setSampleEstimator(final SampleEstimator sampleEstimator) {
+        this.sampleEstimator = sampleEstimator;
+    }
+
+    void setJournal(final Journal journal) {
+        this.journal = journal;
+    }
+
+    /* pairs already past the read stage at the deadline are still mined, so
+     * the run overshoots it by at most what the stages hold, each pair under
+     * the diff timeout */
+    void setDeadline(final long deadlineMillis) {
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    private boolean isPastDeadline() {
+        return this.deadlineMillis >= 0L && System.currentTimeMillis() >= this.deadlineMillis;
+    }
+
+    /* admission control only applies to in-process diffs */
+    void setHeapBudget(final HeapBudget heapBudget) {
+        if (this.workerProcessPool == null) {
+            this.heapBudget = heapBudget;
+        }
+    }
+
+    void setDebugWriters(final PrintWriter noDiffPW, final PrintWriter timedOutDiffPW) {
+        this.noDiffPW = noDiffPW;
+        this.timedOutDiffPW = timedOutDiffPW;
+    }
+
+    void start() {
+        for (final Stage<?> stage : this.stages) {
+            stage.start();
+        }
+        if (this.readAhead != null) {
+            this.readAhead.start();
+        }
+    }
+
+    void submit(final PairTask task) {
+        if (this.journal != null && this.journal.isCompleted(Journal.keyOf(task.buggy, task.fixed))) {
+            this.skipped.incrementAndGet();
+            return;
+        }
+        if (this.readAhead != null && task.source == null) {
+            this.readAhead.put(task);
+        } else {
+            this.readStage.submit(task);
+        }
+    }
+
+    /* drains the stages in order, so that nothing in flight is lost */
+    void finish() throws InterruptedException {
+        if (this.readAhead != null) {
+            this.readAhead.finish();
+        }
+        this.readStage.finish();
+        if (!this.deferred.isEmpty()) {
+            out.printf("Mining %d deferred pair(s) one at a time...%n", this.deferred.size());
+            PairTask task;
+            while ((task = this.deferred.poll()) != null) {
+                if (isPastDeadline()) {
+                    /* the leader is done with, unmined, and so are the copies
+                     * waiting for it; none of them is emitted */
+                    task.result = MiningResult.FAILED;
+                    this.pastDeadline.addAndGet(1 + this.deduplicator.complete(task).size());
+                    continue;
+                }
+                /* waits for everything else to leave the diff and mine stages */
+                this.heapBudget.acquire(task.heapEstimate);
+                this.parseStage.submit(task);
+            }
+        }
+        for (final Stage<?> stage : this.stages) {
+            if (stage != this.readStage) {
+                stage.finish();
+            }
+        }
+        if (this.diffExecutor != null) {
+            this.diffExecutor.shutdownNow();
+        }
+        if (this.parsingService != null) {
+            this.parsingService.shutdown();
+        }
+        if (this.workerProcessPool != null) {
+            this.workerProcessPool.shutdown();
+        }
+        if (this.noDiffPW != null) {
+            this.noDiffPW.close();
+        }
+        if (this.timedOutDiffPW != null) {
+            this.timedOutDiffPW.close();
+        }
+        if (this.shardCount > 1) {
+            out.printf("Shard %d/%d: %d pair(s) left to the other shards%n",
+                    this.shardIndex,
+                    this.shardCount,
+                    this.outOfShard.get());
+        }
+        if (this.pastDeadline.get() > 0) {
+            out.printf("Time budget is over: %d pair(s) left unmined%n", this.pastDeadline.get());
+        }
+        this.deduplicator.report();
+        if (this.sampleEstimator != null) {
+            try {
+                this.sampleEstimator.render();
+            } catch (IOException e) {
+                out.printf("warning: \'%s\' swallowed while writing the estimates.%n", e.getMessage());
+            }
+        }
+        if (this.resultCache != null) {
+            this.resultCache.report();
+        }
+        if (this.costModel != null) {
+            this.costModel.close();
+        }
+        if (this.journal != null) {
+            this.journal.close();
+            out.printf("Journal: %d pair(s) completed, %d skipped in this run%n",
+                    this.journal.completedCount(),
+                    this.skipped.get());
+        }
+        if (this.workerProcessPool == null) {
+            final Map<String, Long> hits = new LinkedHashMap<>();
+            for (final PatternMiner miner : this.miners) {
+                miner.getPointHandlerHits().forEach((handler, count) -> hits.merge(handler, count, Long::sum));
+            }
+            out.println("Point handlers:");
+            for (final Map.Entry<String, Long> entry : hits.entrySet()) {
+                out.printf("\t%s: %d rule(s)%n", entry.getKey(), entry.getValue());
+            }
+        }
+        out.println("Pipeline:");
+        for (final Stage<?> stage : this.stages) {
+            out.printf("\t%s%n", stage.report());
+        }
+    }
+
+    private void read(final PairTask task) throws InterruptedException {
+        SourcePair source = task.source;
+        task.source = null;
+        if (isPastDeadline()) {
+            this.pastDeadline.incrementAndGet();
+            releaseReadAhead(task);
+            return;
+        }
+        if (source == null) {
+            if (this.readAhead != null) {
+                this.readAhead.reserve(task, task.buggy.length() + task.fixed.length());
+            }
+            try {
+                source = SourcePair.ofBytes(task.buggy.getPath(),
+                        Files.readAllBytes(task.buggy.toPath()),
+                        task.fixed.getPath(),
+                        Files.readAllBytes(task.fixed.toPath()),
+                        task.projectName);
+            } catch (IOException e) {
+                out.printf("warning: \'%s\' swallowed.%n", e.getMessage());
+                task.result = MiningResult.FAILED;
+                this.emitStage.submit(task);
+                return;
+            }
+        }
+        /* copies of a pair that was already seen are not mined again */
+        task.contentKey = Deduplicator.keyOf(source.getBuggyBytes(), source.getFixedBytes());
+        if (this.shardCount > 1 && !inShard(task.contentKey)) {
+            this.outOfShard.incrementAndGet();
+            releaseReadAhead(task);
+            return;
+        }
+        if (!this.deduplicator.admit(task)) {
+            /* a copy holds no sources, parked or not */
+            releaseReadAhead(task);
+            if (task.result != null) {
+                this.emitStage.submit(task);
+            }
+            return;
+        }
+        /* pairs that differ only in comments or formatting are not worth parsing */
+        final boolean sameTokens;
+        if (source.hasBytes()) {
+            sameTokens = SourceFingerprint.of(source.getBuggyBytes())
+                    .equals(SourceFingerprint.of(source.getFixedBytes()));
+        } else {
+            sameTokens = SourceFingerprint.of(source.getBuggySource())
+                    .equals(SourceFingerprint.of(source.getFixedSource()));
+        }
+        if (sameTokens) {
+            task.result = MiningResult.NO_DIFF;
+            this.emitStage.submit(task);
+            return;
+        }
+        if (this.resultCache != null) {
+            final String cacheKey = this.resultCache.keyOf(source.getBuggyBytes(), source.getFixedBytes());
+            final MiningResult cached = this.resultCache.lookup(cacheKey);
+            if (cached != null) {
+                task.result = cached;
+                this.emitStage.submit(task);
+                return;
+            }
+            task.cacheKey = cacheKey;
+        }
+        task.buggySource = source.getBuggySource();
+        task.fixedSource = source.getFixedSource();
+        if (this.workerProcessPool != null) {
+            this.diffStage.submit(task); // workers parse the sources themselves
+        } else {
+            if (this.heapBudget != null) {
+                task.heapEstimate = HeapBudget.estimate(task.buggySource.length() + task.fixedSource.length());
+                if (!this.heapBudget.fits(task.heapEstimate)) {
+                    releaseReadAhead(task);
+                    this.deferred.add(task);
+                    return;
+                }
+                this.heapBudget.acquire(task.heapEstimate);
+            }
+            this.parseStage.submit(task);
+        }
+    }
+
+
+    /* the models of the task are no longer needed past this point */
+    private void toEmitStage(final PairTask task) {
+        if (task.heapEstimate > 0L) {
+            this.heapBudget.release(task.heapEstimate);
+            task.heapEstimate = 0L;
+        }
+        this.emitStage.submit(task);
+    }
+
+    private void releaseReadAhead(final PairTask task) {
+        if (this.readAhead != null) {
+            this.readAhead.release(task);
+        }
+    }
+
+    private void parse(final PairTask task) {
+        releaseReadAhead(task);
+        final long start = System.currentTimeMillis();
+        try {
+            final CtType<?>[] types = this.parsingService.parsePair(task.buggy.getName(),
+                    task.buggySource,
+                    task.fixed.getName(),
+                    task.fixedSource);
+            task.buggyType = types[0];
+            task.fixedType = types[1];
+        } catch (Exception e) {
+            out.printf("warning: \'%s\' swallowed.%n", e.getMessage());
+        }
+        task.diffMillis = System.currentTimeMillis() - start;
+        if (task.buggyType == null || task.fixedType == null) {
+            task.result = MiningResult.FAILED;
+            toEmitStage(task);
+            return;
+        }
+        this.diffStage.submit(task);
+    }
+
+    private void diff(final PairTask task) {
+        releaseReadAhead(task);
+        out.printf("Diffing (%s):%n\t%s%n\t%s%n",
+                task.projectName,
+                task.buggy.getName(),
+                task.fixed.getName());
+        final long start = System.currentTimeMillis();
+        if (this.workerProcessPool != null) {
+            task.result = this.workerProcessPool.mine(task.buggy.getName(),
+                    task.buggySource,
+                    task.fixed.getName(),
+                    task.fixedSource);
+        } else {
+            task.result = safeDiff(task);
+        }
+        task.diffMillis += System.currentTimeMillis() - start;
+        task.buggySource = null;
+        task.fixedSource = null;
+        task.buggyType = null;
+        task.fixedType = null;
+        if (task.result != null) {
+            toEmitStage(task);
+        } else {
+            this.mineStage.submit(task);
+        }
+    }
+
+    /* fills in the operations of the task; returns a result only if there is
+     * nothing to mine */
+    private MiningResult safeDiff(final PairTask task) {
+        final CtType<?> buggyType = task.buggyType;
+        final CtType<?> fixedType = task.fixedType;
+        final String buggySource = task.buggySource;
+        final String fixedSource = task.fixedSource;
+        /* a timed-out diff cannot be stopped, and keeps its heap until it is
+         * done; whichever of the diff and the timeout comes second, the diff
+         * thread then, keeps the admission of the pair until that point */
+        final long heapEstimate = task.heapEstimate;
+        final AtomicBoolean abandoned = new AtomicBoolean(false);
+        final Future<List<Operation>> diffTask = this.diffExecutor.submit(() -> {
+            try {
+                return this.astDiffer.diff(buggyType, buggySource, fixedType, fixedSource);
+            } finally {
+                if (!abandoned.compareAndSet(false, true) && heapEstimate > 0L) {
+                    this.heapBudget.release(heapEstimate);
+                }
+            }
+        });
+        try {
+            if (this.timeout < 0) {
+                task.ops = diffTask.get();
+            } else {
+                task.ops = diffTask.get(this.timeout, TimeUnit.SECONDS);
+            }
+        } catch (TimeoutException te) {
+            diffTask.cancel(true);
+            if (abandoned.compareAndSet(false, true)) {
+                task.heapEstimate = 0L;
+                out.println("warning: a timed-out diff is still running");
+            }
+            return MiningResult.TIMED_OUT;
+        } catch (InterruptedException | CancellationException | ExecutionException e) {
+            out.printf("warning: \'%s\' swallowed.%n", e.getMessage());
+            if (abandoned.compareAndSet(false, true)) {
+                task.heapEstimate = 0L;
+            }
+            return MiningResult.FAILED;
+        }
+        if (task.ops.isEmpty()) {
+            return MiningResult.NO_DIFF;
+        }
+        return null;
+    }
+
+    private void mine(final PairTask task) {
+        task.result = MiningResult.mined(this.patternMiner.get().mine(task.ops));
+        task.ops = null;
+        toEmitStage(task);
+    }
+
+    /* the pair is reported as failed, and is not retried when resuming */
+    private void failed(final PairTask task, final Exception e) {
+        out.printf("warning: \'%s\' swallowed while mining %s.%n", e, task.buggy);
+        task.ops = null;
+        task.buggyType = null;
+        task.fixedType = null;
+        task.result = MiningResult.FAILED;
+        toEmitStage(task);
+    }
+
+    /* a leading pair brings along the copies that were waiting for it */
+    private void emit(final PairTask task) throws IOException {
+        emitOne(task);
+        if (task.contentKey != null && !task.duplicate) {
+            for (final PairTask copy : this.deduplicator.complete(task)) {
+                emitOne(copy);
+            }
+        }
+    }
+
+    private void emitOne(final PairTask task) throws IOException {
+        releaseReadAhead(task);
+        final MiningResult result = task.result;
+        switch (result.getOutcome()) {
+            case MINED:
+                for (final Rule rule : result.getRules()) {
+                    this.queue.add(new MinedRule(rule, task.projectName, task.duplicate));
+                }
+                break;
+            case TIMED_OUT:
+                reportTimeOut(task);
+                break;
+            default:
+                reportNoDiff(task);
+        }
+        if (task.cacheKey != null) {
+            this.resultCache.store(task.cacheKey, result);
+        }
+        if (this.costModel != null && task.diffMillis > 0L) {
+            this.costModel.record(task.buggy, task.fixed, task.diffMillis);
+        }
+        if (this.sampleEstimator != null) {
+            this.sampleEstimator.record(task.projectName, result);
+        }
+        if (this.journal != null) {
+            this.journal.record(task);
+        }
+    }
+
+    private void reportNoDiff(final PairTask task) {
+        out.println("warning: no diff was found.");
+        if (this.noDiffPW != null) {
+            this.noDiffPW.printf("%s,%s%n",
+                    task.buggy.getAbsolutePath(),
+                    task.fixed.getAbsolutePath());
+        }
+    }
+
+    private void reportTimeOut(final PairTask task) {
+        out.println("warning: diffing timed-out!");
+        if (this.timedOutDiffPW != null) {
+            this.timedOutDiffPW.printf("%s,%s%n",
+                    task.buggy.getAbsolutePath(),
+                    task.fixed.getAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.pattern.rules.Rule;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/* what came out of diffing and mining a single file pair. this is serializable
+ * so that it can travel between diff worker processes and their parent */
+public final class MiningResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public enum Outcome {
+        MINED,
+        NO_DIFF,
+        TIMED_OUT,
+        FAILED
+    }
+
+    public static final MiningResult NO_DIFF = new MiningResult(Outcome.NO_DIFF);
+    public static final MiningResult TIMED_OUT = new MiningResult(Outcome.TIMED_OUT);
+    public static final MiningResult FAILED = new MiningResult(Outcome.FAILED);
+
+    private final Outcome outcome;
+    private final List<Rule> rules;
+
+    private MiningResult(final Outcome outcome) {
+        this(outcome, Collections.emptyList());
+    }
+
+    private MiningResult(final Outcome outcome, final List<Rule> rules) {
+        this.outcome = outcome;
+        this.rules = rules;
+    }
+
+    public static MiningResult mined(final List<Rule> rules) {
+        return new MiningResult(Outcome.MINED, rules);
+    }
+
+    public Outcome getOutcome() {
+        return this.outcome;
+    }
+
+    public List<Rule> getRules() {
+        return this.rules;
+    }
+}
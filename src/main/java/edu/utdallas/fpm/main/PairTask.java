@@ -0,0 +1,46 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.commons.SourcePair;
+import gumtree.spoon.diff.operations.Operation;
+import spoon.reflect.declaration.CtType;
+
+import java.io.File;
+import java.util.List;
+
+/* a file pair on its way through the mining pipeline; each stage fills in
+ * what the next stages need, and drops what they do not */
+final class PairTask {
+    final File buggy;
+    final File fixed;
+    final String projectName;
+    /* the in-memory pair, unless the files are to be read from disk */
+    SourcePair source;
+    String buggySource;
+    String fixedSource;
+    String cacheKey;
+    /* see Deduplicator */
+    String contentKey;
+    boolean duplicate;
+    CtType<?> buggyType;
+    CtType<?> fixedType;
+    List<Operation> ops;
+    MiningResult result;
+    /* time spent parsing and diffing, for the cost model */
+    long diffMillis;
+    /* heap admitted for this pair by the heap budget, if any */
+    long heapEstimate;
+    /* room taken by the contents of this pair in the read-ahead buffer, if any */
+    long readAheadBytes;
+
+    PairTask(final File buggy, final File fixed, final String projectName) {
+        this.buggy = buggy;
+        this.fixed = fixed;
+        this.projectName = projectName;
+    }
+
+    /* the files only name the versions of an in-memory pair */
+    PairTask(final SourcePair source, final String projectName) {
+        this(new File(source.getBuggyName()), new File(source.getFixedName()), projectName);
+        this.source = source;
+    }
+}
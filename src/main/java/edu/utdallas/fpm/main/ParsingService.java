@@ -0,0 +1,90 @@
+package edu.utdallas.fpm.main;
+
+import spoon.SpoonModelBuilder;
+import spoon.compiler.Environment;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.factory.FactoryImpl;
+import spoon.support.DefaultCoreFactory;
+import spoon.support.StandardEnvironment;
+import spoon.support.compiler.VirtualFile;
+import spoon.support.compiler.jdt.JDTBasedSpoonCompiler;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+/* parses Java sources into Spoon models without going through a full Spoon
+ * launcher: every thread keeps its own, warmed-up, no-classpath/no-comments
+ * parser, and the two sides of a pair are parsed concurrently */
+final class ParsingService {
+    private static final String WARM_UP_SOURCE =
+            "class WarmUp { int f(int x) { return x > 0 ? x + 1 : -x; } }";
+
+    private final ThreadLocal<Parser> parsers;
+    /* parses the buggy side of a pair while the caller parses the fixed side */
+    private final ExecutorService sideParsers;
+
+    ParsingService(final int threads) {
+        this.parsers = ThreadLocal.withInitial(Parser::new);
+        this.sideParsers = Executors.newFixedThreadPool(threads, r -> {
+            final Thread parser = new Thread(r);
+            parser.setDaemon(true);
+            return parser;
+        });
+        for (int i = 0; i < threads; i++) {
+            this.sideParsers.submit(() -> parse("WarmUp.java", WARM_UP_SOURCE));
+        }
+    }
+
+    /* the first type declared in the source, or null if there is none */
+    CtType<?> parse(final String name, final String source) {
+        return this.parsers.get().parse(name, source);
+    }
+
+    /* {buggy type, fixed type} */
+    CtType<?>[] parsePair(final String buggyName,
+                          final String buggySource,
+                          final String fixedName,
+                          final String fixedSource) throws Exception {
+        final Future<CtType<?>> buggyType =
+                this.sideParsers.submit(() -> parse(buggyName, buggySource));
+        final CtType<?> fixedType;
+        try {
+            fixedType = parse(fixedName, fixedSource);
+        } catch (RuntimeException e) {
+            buggyType.cancel(true);
+            throw e;
+        }
+        try {
+            return new CtType<?>[] {buggyType.get(), fixedType};
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+
+    void shutdown() {
+        this.sideParsers.shutdownNow();
+    }
+
+    private static final class Parser {
+        /* environments are reusable, factories (i.e. models) are not */
+        private final Environment environment;
+
+        Parser() {
+            this.environment = new StandardEnvironment();
+            this.environment.setNoClasspath(true);
+            this.environment.setCommentEnabled(false);
+            this.environment.setLevel("OFF");
+        }
+
+        CtType<?> parse(final String name, final String source) {
+            final Factory factory = new FactoryImpl(new DefaultCoreFactory(), this.environment);
+            final SpoonModelBuilder compiler = new JDTBasedSpoonCompiler(factory);
+            compiler.addInputSource(new VirtualFile(source, name));
+            compiler.build();
+            final List<CtType<?>> types = factory.Type().getAll();
+            return types.isEmpty() ? null : types.get(0);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.commons.ElementCache;
+import edu.utdallas.fpm.pattern.handler.HandlerTable;
+import edu.utdallas.fpm.pattern.handler.point.delete.DeleteHandler;
+import edu.utdallas.fpm.pattern.handler.point.insert.InsertHandler;
+import edu.utdallas.fpm.pattern.handler.point.update.UpdateHandler;
+import edu.utdallas.fpm.pattern.handler.regexp.*;
+import edu.utdallas.fpm.pattern.rules.Rule;
+import gumtree.spoon.diff.operations.Operation;
+import spoon.reflect.cu.SourcePosition;
+import spoon.reflect.cu.position.NoSourcePosition;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/* runs the regular expression handlers, and then the point handlers, over the
+ * operations of a single diff. handlers are stateful, so an instance of this
+ * class should not be shared among concurrent diffs */
+public final class PatternMiner {
+    /* identifies what the handlers mine; bump it whenever a handler or a rule
+     * changes, so that results cached by older versions are not reused */
+    public static final String VERSION = "3";
+
+    private final RegExpMatcher regExpMatcher;
+    private final HandlerTable pointHandlers;
+
+    public PatternMiner() {
+        this.pointHandlers = new HandlerTable(
+                DeleteHandler.createHandlerChain(),
+                InsertHandler.createHandlerChain(),
+                UpdateHandler.createHandlerChain());
+        final RegExpHandler functionOperatorReplacementHandler =
+                new FunctionOperatorReplacementHandler();
+        final RegExpHandler fieldLocalReplacementHandler = new FieldLocalReplacementHandler();
+        final RegExpHandler accessorHandler = new AccessorHandler();
+        this.regExpMatcher = new RegExpMatcher(new RegExpHandler[] {
+                new IfShortCircuitHandler(),
+                new DecomposedMethodCallHandler(),
+                new DecomposeBinaryOperatorHandler(),
+                new ConstantificationHandler(),
+                functionOperatorReplacementHandler,
+                fieldLocalReplacementHandler,
+                new LocalToMethodReplacementHandler(),
+                new MethodToLocalReplacementHandler(),
+                new NegateIntExpHandler(),
+                new NegateConditionalHandler(),
+                new FieldMethDerefGuardHandler(),
+                accessorHandler,
+                new SimpleMethCallGuardHandler(),
+                new IncDecRemovalHandler()
+        }, new RegExpHandler[] { // these also pair up non-adjacent deletions and insertions
+                functionOperatorReplacementHandler,
+                fieldLocalReplacementHandler,
+                accessorHandler
+        });
+    }
+
+    /* ops is sorted, and the operations consumed by regular expression
+     * handlers are removed from it */
+    public List<Rule> mine(final List<Operation> ops) {
+        ElementCache.open();
+        try {
+            return mineSorted(ops);
+        } finally {
+            ElementCache.close();
+        }
+    }
+
+    private List<Rule> mineSorted(final List<Operation> ops) {
+        ops.sort(Comparator.comparingInt(o -> {
+            final SourcePosition sp = o.getSrcNode().getPosition();
+            if (sp instanceof NoSourcePosition) {
+                return Integer.MAX_VALUE;
+            }
+            return sp.getSourceStart();
+        }));
+
+        /* try regular expressions handlers */
+        final List<Rule> rules = this.regExpMatcher.match(ops);
+        /* then point handlers, over what is left */
+        for (final Operation op : ops) {
+            this.pointHandlers.handle(op, rules);
+        }
+        return rules;
+    }
+
+    /* number of rules mined by each point handler so far */
+    public Map<String, Long> getPointHandlerHits() {
+        return this.pointHandlers.getHits();
+    }
+}
@@ -0,0 +1,111 @@
+package edu.utdallas.fpm.main;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/* sits in front of the read stage when the corpus is on a spinning disk.
+ * pending pairs wait in a bounded window, from which they are handed to the
+ * read stage in the order of a one-way elevator sweep over their paths: the
+ * next pair is the one whose path comes first after the path of the last
+ * pair, wrapping around at the end. pairs of the same directories are thus
+ * read back to back, however the input lists them.
+ * read contents are held in a bounded buffer until the parse stage, or the
+ * diff stage when diffs run in worker processes, takes them, so that the read
+ * stage can run ahead of parsing and diffing without filling up the heap */
+final class ReadAhead {
+    private final int windowSize;
+    /* path of the buggy file, and an arrival number to keep keys apart -> pair */
+    private final TreeMap<String, PairTask> window;
+    private long arrivals;
+    private String lastKey;
+    private boolean closed;
+    private final long bufferSize;
+    private long buffered;
+    private final Stage<PairTask> readStage;
+    private final Thread dispatcher;
+
+    ReadAhead(final int windowSize, final long bufferSize, final Stage<PairTask> readStage) {
+        this.windowSize = windowSize;
+        this.window = new TreeMap<>();
+        this.arrivals = 0L;
+        this.lastKey = "";
+        this.closed = false;
+        this.bufferSize = bufferSize;
+        this.buffered = 0L;
+        this.readStage = readStage;
+        this.dispatcher = new Thread(this::dispatch, "read-ahead");
+    }
+
+    void start() {
+        this.dispatcher.start();
+    }
+
+    synchronized void put(final PairTask task) {
+        try {
+            while (this.window.size() >= this.windowSize) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while feeding read-ahead", e);
+        }
+        this.window.put(String.format("%s\n%019d", task.buggy.getPath(), this.arrivals++), task);
+        notifyAll();
+    }
+
+    /* next pair of the sweep, or null once the window is closed and empty */
+    private synchronized PairTask take() throws InterruptedException {
+        while (this.window.isEmpty() && !this.closed) {
+            wait();
+        }
+        Map.Entry<String, PairTask> next = this.window.higherEntry(this.lastKey);
+        if (next == null) {
+            next = this.window.firstEntry();
+        }
+        if (next == null) {
+            return null;
+        }
+        this.window.remove(next.getKey());
+        this.lastKey = next.getKey();
+        notifyAll();
+        return next.getValue();
+    }
+
+    private void dispatch() {
+        try {
+            PairTask task;
+            while ((task = take()) != null) {
+                this.readStage.submit(task);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* hands all pending pairs to the read stage */
+    void finish() throws InterruptedException {
+        synchronized (this) {
+            this.closed = true;
+            notifyAll();
+        }
+        this.dispatcher.join();
+    }
+
+    /* called by the read stage before reading a pair; like the heap budget, a
+     * pair larger than the whole buffer gets in once the buffer is empty */
+    synchronized void reserve(final PairTask task, final long bytes) throws InterruptedException {
+        while (this.buffered > 0L && this.buffered + bytes > this.bufferSize) {
+            wait();
+        }
+        this.buffered += bytes;
+        task.readAheadBytes = bytes;
+    }
+
+    synchronized void release(final PairTask task) {
+        if (task.readAheadBytes > 0L) {
+            this.buffered -= task.readAheadBytes;
+            task.readAheadBytes = 0L;
+            notifyAll();
+        }
+    }
+}
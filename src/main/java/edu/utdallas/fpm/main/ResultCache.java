@@ -0,0 +1,190 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.commons.Util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.lang.System.out;
+
+/* content-addressed, size-bounded on-disk cache of mining results. entries are
+ * keyed by the hashes of the buggy and fixed contents, the miner version and
+ * the diff mode, so a pair is mined again only if one of its sides, or the way
+ * it is mined, changed.
+ * least recently used entries are evicted first */
+public final class ResultCache {
+    private final Path directory;
+    private final long capacity;
+    /* see AstDiffer */
+    private final int hunkScopedMinLines;
+    /* sizes of the entries on disk, from the least to the most recently used;
+     * the directory is only listed when the cache is opened */
+    private final LinkedHashMap<String, Long> index;
+    private final AtomicLong size;
+    private final AtomicInteger hits;
+    private final AtomicInteger misses;
+    private final AtomicInteger evictions;
+
+    private ResultCache(final Path directory,
+                        final long capacity,
+                        final int hunkScopedMinLines,
+                        final long size) {
+        this.directory = directory;
+        this.capacity = capacity;
+        this.hunkScopedMinLines = hunkScopedMinLines;
+        this.index = new LinkedHashMap<>(16, 0.75F, true);
+        this.size = new AtomicLong(size);
+        this.hits = new AtomicInteger(0);
+        this.misses = new AtomicInteger(0);
+        this.evictions = new AtomicInteger(0);
+    }
+
+    public static ResultCache open(final File directory,
+                                   final long capacity,
+                                   final int hunkScopedMinLines) throws IOException {
+        final Path path = directory.toPath();
+        Files.createDirectories(path);
+        final ResultCache cache = new ResultCache(path, capacity, hunkScopedMinLines, 0L);
+        final List<Path> entries = cache.listEntries();
+        entries.sort(Comparator.comparingLong(ResultCache::lastModified));
+        for (final Path entry : entries) {
+            final long entrySize = Files.size(entry);
+            cache.index.put(entry.getFileName().toString(), entrySize);
+            cache.size.addAndGet(entrySize);
+        }
+        return cache;
+    }
+
+    public String keyOf(final byte[] buggy, final byte[] fixed) {
+        return Util.digest(Util.digest(buggy).getBytes(StandardCharsets.US_ASCII),
+                Util.digest(fixed).getBytes(StandardCharsets.US_ASCII),
+                PatternMiner.VERSION.getBytes(StandardCharsets.US_ASCII),
+                String.valueOf(this.hunkScopedMinLines).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Path entryOf(final String key) {
+        return this.directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    /* null on miss */
+    public MiningResult lookup(final String key) {
+        final Path entry = entryOf(key);
+        if (Files.isRegularFile(entry)) {
+            try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+                final MiningResult result = (MiningResult) ois.readObject();
+                /* the index orders this run, modification times the next one */
+                synchronized (this.index) {
+                    this.index.get(key);
+                }
+                Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+                this.hits.incrementAndGet();
+                return result;
+            } catch (Exception e) {
+                /* torn or stale entry: forget about it */
+                remove(key);
+            }
+        }
+        this.misses.incrementAndGet();
+        return null;
+    }
+
+    /* only results that do not depend on timing are worth remembering */
+    public void store(final String key, final MiningResult result) {
+        final MiningResult.Outcome outcome = result.getOutcome();
+        if (outcome != MiningResult.Outcome.MINED && outcome != MiningResult.Outcome.NO_DIFF) {
+            return;
+        }
+        final Path entry = entryOf(key);
+        try {
+            Files.createDirectories(entry.getParent());
+            final Path temp = Files.createTempFile(entry.getParent(), key, ".tmp");
+            try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                oos.writeObject(result);
+            }
+            final long entrySize = Files.size(temp);
+            /* readers never see a half-written entry */
+            Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            final Long replaced;
+            synchronized (this.index) {
+                replaced = this.index.put(key, entrySize);
+            }
+            if (this.size.addAndGet(entrySize - (replaced == null ? 0L : replaced)) > this.capacity) {
+                evict();
+            }
+        } catch (IOException e) {
+            out.printf("warning: unable to cache (\'%s\')%n", e.getMessage());
+        }
+    }
+
+    /* evict least recently used entries until we are back to 90% of the capacity */
+    private void evict() {
+        final long target = this.capacity / 10 * 9;
+        final List<String> victims = new ArrayList<>();
+        synchronized (this.index) {
+            final Iterator<Map.Entry<String, Long>> it = this.index.entrySet().iterator();
+            while (this.size.get() > target && it.hasNext()) {
+                final Map.Entry<String, Long> eldest = it.next();
+                it.remove();
+                this.size.addAndGet(-eldest.getValue());
+                victims.add(eldest.getKey());
+            }
+        }
+        for (final String key : victims) {
+            try {
+                Files.deleteIfExists(entryOf(key));
+            } catch (IOException e) {
+                /* somebody else removed it */
+            }
+            this.evictions.incrementAndGet();
+        }
+    }
+
+    private static long lastModified(final Path entry) {
+        try {
+            return Files.getLastModifiedTime(entry).toMillis();
+        } catch (IOException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private void remove(final String key) {
+        final Long entrySize;
+        synchronized (this.index) {
+            entrySize = this.index.remove(key);
+        }
+        if (entrySize != null) {
+            this.size.addAndGet(-entrySize);
+        }
+        try {
+            Files.deleteIfExists(entryOf(key));
+        } catch (IOException e) {
+            /* somebody else removed it */
+        }
+    }
+
+    private List<Path> listEntries() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(p -> !p.getFileName().toString().endsWith(".tmp"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    public void report() {
+        final int hits = this.hits.get();
+        final int lookups = hits + this.misses.get();
+        out.printf("Cache: %d hits, %d misses (%.1f%% hit rate), %d evictions, %d bytes on disk%n",
+                hits,
+                this.misses.get(),
+                lookups == 0 ? 0D : 100D * hits / lookups,
+                this.evictions.get(),
+                this.size.get());
+    }
+}
@@ -0,0 +1,168 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.pattern.rules.Rule;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+/* estimates, from a stratified sample (see Sampler), the share of the pairs of
+ * the corpus in which each pattern shows up, with a 95% confidence interval.
+ * with N_h pairs in project h, n_h of them sampled and p_h the share of those
+ * in which the pattern shows up, the estimate is sum W_h p_h, W_h = N_h / N,
+ * and its variance is sum W_h^2 (1 - n_h / N_h) p_h (1 - p_h) / (n_h - 1).
+ * pairs that failed or timed out are left out, as if they were not sampled,
+ * and so are pairs left unmined at the end of the time budget, copies parked
+ * behind such a pair included: none of them is recorded here.
+ * the variance of a stratum needs n_h >= 2, so strata with fewer sampled
+ * pairs, unsampled ones included, are collapsed into one; if that is still
+ * short of two sampled pairs, it is collapsed into the stratum with the
+ * fewest sampled pairs. collapsed strata keep all of N, so the estimate
+ * still speaks for the whole corpus, and their variance is, if anything,
+ * overstated. with fewer than two sampled pairs in all, the interval is
+ * [0, 1] */
+final class SampleEstimator {
+    private static final double Z_95 = 1.959964;
+
+    private static final class Stratum {
+        int size;
+        int sampled;
+        /* rule-name --> number of sampled pairs in which it shows up */
+        final Map<String, Integer> hits;
+
+        Stratum(final int size) {
+            this.size = size;
+            this.sampled = 0;
+            this.hits = new HashMap<>();
+        }
+
+        void absorb(final Stratum that) {
+            this.size += that.size;
+            this.sampled += that.sampled;
+            that.hits.forEach((ruleId, count) -> this.hits.merge(ruleId, count, Integer::sum));
+        }
+    }
+
+    private final Map<String, Stratum> strata;
+
+    SampleEstimator(final Map<String, Integer> stratumSizes) {
+        this.strata = new HashMap<>();
+        for (final Map.Entry<String, Integer> ent : stratumSizes.entrySet()) {
+            this.strata.put(ent.getKey(), new Stratum(ent.getValue()));
+        }
+    }
+
+    synchronized void record(final String projectName, final MiningResult result) {
+        final Stratum stratum = this.strata.get(projectName);
+        if (stratum == null) {
+            return;
+        }
+        switch (result.getOutcome()) {
+            case MINED:
+                final Set<String> ruleIds = new HashSet<>();
+                for (final Rule rule : result.getRules()) {
+                    final String ruleId = StatisticsRenderer.ruleIdOf(rule);
+                    if (ruleId != null) {
+                        ruleIds.add(ruleId);
+                    }
+                }
+                for (final String ruleId : ruleIds) {
+                    stratum.hits.merge(ruleId, 1, Integer::sum);
+                }
+                stratum.sampled++;
+                break;
+            case NO_DIFF:
+                stratum.sampled++;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private List<Stratum> collapse() {
+        final List<Stratum> collapsed = new ArrayList<>();
+        final Stratum pooled = new Stratum(0);
+        for (final Stratum stratum : this.strata.values()) {
+            if (stratum.sampled >= 2) {
+                final Stratum copy = new Stratum(0);
+                copy.absorb(stratum);
+                collapsed.add(copy);
+            } else {
+                pooled.absorb(stratum);
+            }
+        }
+        if (pooled.size > 0) {
+            if (pooled.sampled < 2 && !collapsed.isEmpty()) {
+                Collections.min(collapsed, Comparator.comparingInt(stratum -> stratum.sampled)).absorb(pooled);
+            } else {
+                collapsed.add(pooled);
+            }
+        }
+        return collapsed;
+    }
+
+    /* rule-name --> estimated share of pairs and its 95% interval, by
+     * decreasing share */
+    synchronized Map<String, double[]> estimates() {
+        final List<Stratum> collapsed = collapse();
+        final long population = getPopulation();
+        final Set<String> ruleIds = new TreeSet<>();
+        for (final Stratum stratum : collapsed) {
+            ruleIds.addAll(stratum.hits.keySet());
+        }
+        final List<Map.Entry<String, double[]>> estimates = new ArrayList<>();
+        for (final String ruleId : ruleIds) {
+            double share = 0.;
+            double variance = 0.;
+            for (final Stratum stratum : collapsed) {
+                if (stratum.sampled == 0) {
+                    continue;
+                }
+                final double weight = (double) stratum.size / population;
+                final double p = (double) stratum.hits.getOrDefault(ruleId, 0) / stratum.sampled;
+                final double fpc = 1. - (double) stratum.sampled / stratum.size;
+                share += weight * p;
+                variance += stratum.sampled < 2
+                        ? Double.POSITIVE_INFINITY
+                        : weight * weight * fpc * p * (1. - p) / (stratum.sampled - 1);
+            }
+            final double margin = Z_95 * Math.sqrt(variance);
+            estimates.add(new AbstractMap.SimpleImmutableEntry<>(ruleId,
+                    new double[] {share, Math.max(0., share - margin), Math.min(1., share + margin)}));
+        }
+        estimates.sort((e1, e2) -> Double.compare(e2.getValue()[0], e1.getValue()[0]));
+        final Map<String, double[]> sorted = new LinkedHashMap<>();
+        for (final Map.Entry<String, double[]> ent : estimates) {
+            sorted.put(ent.getKey(), ent.getValue());
+        }
+        return sorted;
+    }
+
+    /* number of pairs of the corpus the estimates speak for */
+    synchronized long getPopulation() {
+        long population = 0L;
+        for (final Stratum stratum : this.strata.values()) {
+            population += stratum.size;
+        }
+        return population;
+    }
+
+    /* rule-name, estimated share of pairs, its 95% interval, and the same as
+     * numbers of pairs of the corpus */
+    synchronized void render() throws IOException {
+        final long population = getPopulation();
+        try (PrintWriter pw = new PrintWriter("out-estimates.csv")) {
+            for (final Map.Entry<String, double[]> ent : estimates().entrySet()) {
+                final double[] e = ent.getValue();
+                pw.printf(Locale.ROOT, "%s,%.6f,%.6f,%.6f,%.0f,%.0f,%.0f%n",
+                        ent.getKey(),
+                        e[0],
+                        e[1],
+                        e[2],
+                        e[0] * population,
+                        e[1] * population,
+                        e[2] * population);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package edu.utdallas.fpm.main;
+
+import java.util.*;
+
+import static java.lang.System.out;
+
+/* stratified random sampling of the pairs of a corpus, with projects as the
+ * strata. all pairs are collected first, which is cheap as long as they are
+ * only file names, and are then submitted in an order whose every prefix is a
+ * sample proportionally allocated to the projects: a pair of a project of N
+ * pairs that comes k-th in a random shuffle of the project is given the key
+ * (k + u) / N, u uniform in [0, 1), and pairs go by increasing key. so the
+ * sample stays stratified however early the count or the time budget stops
+ * it */
+final class Sampler {
+    private final Map<String, List<PairTask>> strata;
+    private final Random random;
+
+    Sampler(final long seed) {
+        this.strata = new HashMap<>();
+        this.random = new Random(seed);
+    }
+
+    void add(final PairTask task) {
+        this.strata.computeIfAbsent(task.projectName, k -> new ArrayList<>()).add(task);
+    }
+
+    /* number of pairs of each project, for the estimates */
+    Map<String, Integer> getStratumSizes() {
+        final Map<String, Integer> sizes = new HashMap<>();
+        for (final Map.Entry<String, List<PairTask>> ent : this.strata.entrySet()) {
+            sizes.put(ent.getKey(), ent.getValue().size());
+        }
+        return sizes;
+    }
+
+    /* all pairs, in the order they are sampled */
+    List<PairTask> order() {
+        final List<PairTask> order = new ArrayList<>();
+        final Map<PairTask, Double> keys = new IdentityHashMap<>();
+        /* projects in a fixed order, so that a seed always gives the same sample */
+        for (final String projectName : new TreeSet<>(this.strata.keySet())) {
+            final List<PairTask> stratum = this.strata.get(projectName);
+            Collections.shuffle(stratum, this.random);
+            for (int k = 0; k < stratum.size(); k++) {
+                keys.put(stratum.get(k), (k + this.random.nextDouble()) / stratum.size());
+                order.add(stratum.get(k));
+            }
+        }
+        order.sort(Comparator.comparingDouble(keys::get));
+        return order;
+    }
+
+    /* submits at most maxCount pairs (no bound if negative), and none after
+     * the deadline (none if negative) */
+    void submitTo(final MiningPipeline pipeline, final int maxCount, final long deadlineMillis) {
+        final List<PairTask> order = order();
+        int submitted = 0;
+        for (final PairTask task : order) {
+            if (maxCount >= 0 && submitted >= maxCount) {
+                break;
+            }
+            if (deadlineMillis >= 0L && System.currentTimeMillis() >= deadlineMillis) {
+                out.println("Sampling time budget is over");
+                break;
+            }
+            pipeline.submit(task);
+            submitted++;
+        }
+        out.printf("Sampled %d of %d pair(s) from %d project(s)%n",
+                submitted,
+                order.size(),
+                this.strata.size());
+        this.strata.clear();
+    }
+}
@@ -1,8 +1,7 @@
 package edu.utdallas.fpm.main;
 
 import edu.utdallas.fpm.commons.Util;
-import org.apache.commons.lang3.tuple.Pair;
-import edu.utdallas.fpm.pattern.rules.Rule;
+import org.apache.commons.lang3.tuple.ImmutablePair;
 
 import java.io.*;
 import java.util.concurrent.BlockingQueue;
@@ -13,14 +12,16 @@ public abstract class Serializer extends Consumer {
     private ObjectOutputStream oos;
     private OutputStream os;
 
-    private Serializer(BlockingQueue<Pair<Rule, String>> queue,
+    private Serializer(BlockingQueue<MinedRule> queue,
+                       DedupPolicy dedupPolicy,
                        OutputStream os) throws Exception {
-        super(queue);
+        super(queue, dedupPolicy);
         this.oos = new ObjectOutputStream(os);
         this.os = os;
     }
 
-    public static Serializer build(BlockingQueue<Pair<Rule, String>> queue,
+    public static Serializer build(BlockingQueue<MinedRule> queue,
+                            DedupPolicy dedupPolicy,
                             File file,
                             boolean compressed) {
         try {
@@ -29,7 +30,7 @@ public abstract class Serializer extends Consumer {
                 core = new GZIPOutputStream(core);
             }
             OutputStream os = new BufferedOutputStream(core);
-            final Serializer serializer = new Serializer(queue, os) {
+            final Serializer serializer = new Serializer(queue, dedupPolicy, os) {
                 final Thread me = new Thread(this);
                 @Override
                 protected Thread getMe() {
@@ -44,9 +45,12 @@ public abstract class Serializer extends Consumer {
         return null;
     }
 
+    /* rules are written as (rule, project name) pairs, as they always were */
     @Override
-    protected void consume(Pair<Rule, String> pair) throws Exception {
-        this.oos.writeObject(pair);
+    protected void consume(MinedRule minedRule) throws Exception {
+        if (getDedupPolicy().keeps(minedRule)) {
+            this.oos.writeObject(new ImmutablePair<>(minedRule.getRule(), minedRule.getProjectName()));
+        }
     }
 
     @Override
@@ -0,0 +1,121 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.commons.Util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* a pipeline stage: a bounded inbox drained by a fixed number of threads.
+ * submitting to a full stage blocks, which throttles the upstream stages */
+final class Stage<T> {
+    interface Task<T> {
+        void process(T item) throws Exception;
+    }
+
+    /* an item that failed must not bring the whole run down */
+    interface FailureHandler<T> {
+        void failed(T item, Exception e);
+    }
+
+    private static final Object END = new Object();
+
+    private final String name;
+    private final BlockingQueue<Object> inbox;
+    private final Thread[] threads;
+    private final Task<T> task;
+    private final FailureHandler<T> failureHandler;
+    private final AtomicLong busyNanos;
+    private final AtomicLong processed;
+    private long startNanos;
+    private long endNanos;
+
+    Stage(final String name,
+          final int threads,
+          final int capacity,
+          final Task<T> task,
+          final FailureHandler<T> failureHandler) {
+        this.name = name;
+        this.inbox = new ArrayBlockingQueue<>(capacity);
+        this.threads = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            this.threads[i] = new Thread(this::run, name + "-" + i);
+        }
+        this.task = task;
+        this.failureHandler = failureHandler;
+        this.busyNanos = new AtomicLong(0L);
+        this.processed = new AtomicLong(0L);
+    }
+
+    void start() {
+        this.startNanos = System.nanoTime();
+        for (final Thread thread : this.threads) {
+            thread.start();
+        }
+    }
+
+    void submit(final T item) {
+        try {
+            this.inbox.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while feeding " + this.name, e);
+        }
+    }
+
+    /* waits for everything submitted so far to be processed */
+    void finish() throws InterruptedException {
+        for (int i = 0; i < this.threads.length; i++) {
+            this.inbox.put(END);
+        }
+        for (final Thread thread : this.threads) {
+            thread.join();
+        }
+        this.endNanos = System.nanoTime();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run() {
+        try {
+            while (true) {
+                final Object item = this.inbox.take();
+                if (item == END) {
+                    break;
+                }
+                final long start = System.nanoTime();
+                try {
+                    this.task.process((T) item);
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    this.failureHandler.failed((T) item, e);
+                } finally {
+                    this.busyNanos.addAndGet(System.nanoTime() - start);
+                    this.processed.incrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Util.panic(e);
+        }
+    }
+
+    int backlog() {
+        return this.inbox.size();
+    }
+
+    /* share of the stage's thread time spent processing items */
+    double utilization() {
+        final long end = this.endNanos == 0L ? System.nanoTime() : this.endNanos;
+        final double available = (double) (end - this.startNanos) * this.threads.length;
+        return available <= 0D ? 0D : this.busyNanos.get() / available;
+    }
+
+    String report() {
+        return String.format("%-6s %3d thread(s) %8d pair(s) %6.1f%% busy %5d queued",
+                this.name,
+                this.threads.length,
+                this.processed.get(),
+                100D * utilization(),
+                backlog());
+    }
+}
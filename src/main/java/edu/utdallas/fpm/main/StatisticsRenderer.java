@@ -3,26 +3,24 @@ package edu.utdallas.fpm.main;
 import edu.utdallas.fpm.commons.Util;
 import edu.utdallas.fpm.pattern.rules.*;
 import edu.utdallas.fpm.pattern.rules.prapr_specializations.*;
-import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 
-import java.io.PrintWriter;
-import java.util.*;
+import java.io.File;
 import java.util.concurrent.BlockingQueue;
-import java.util.function.ToIntFunction;
 
 public abstract class StatisticsRenderer extends Consumer {
-    /* rule-name --> (count, {project-names}) */
-    private final Map<String, Pair<MutableInt, Set<String>>> table;
+    static final String SUMMARY_FILE_NAME = "out-summary.bin";
 
-    private StatisticsRenderer(BlockingQueue<Pair<Rule, String>> queue) {
-        super(queue);
-        this.table = new HashMap<>();
+    private final Summary summary;
+
+    private StatisticsRenderer(BlockingQueue<MinedRule> queue, DedupPolicy dedupPolicy) {
+        super(queue, dedupPolicy);
+        this.summary = new Summary();
     }
 
-    public static StatisticsRenderer build(BlockingQueue<Pair<Rule, String>> queue) {
-        final StatisticsRenderer statisticsRenderer = new StatisticsRenderer(queue) {
+    public static StatisticsRenderer build(BlockingQueue<MinedRule> queue, DedupPolicy dedupPolicy) {
+        final StatisticsRenderer statisticsRenderer = new StatisticsRenderer(queue, dedupPolicy) {
             final Thread me = new Thread(this);
 
             @Override
@@ -35,20 +33,22 @@ public abstract class StatisticsRenderer extends Consumer {
     }
 
     @Override
-    protected void consume(Pair<Rule, String> pair) {
-        pair = praprSpecialize(pair);
-        if (pair == null) {
+    protected void consume(MinedRule minedRule) {
+        tally(this.summary, minedRule, getDedupPolicy());
+    }
+
+    static void tally(final Summary summary, final MinedRule minedRule, final DedupPolicy dedupPolicy) {
+        final String ruleId = ruleIdOf(minedRule.getRule());
+        if (ruleId == null) {
             return;
         }
-        final String ruleId = pair.getLeft().getClass().getSimpleName();
-        Pair<MutableInt, Set<String>> info = this.table.get(ruleId);
-        if (info == null) {
-            info = new ImmutablePair<>(new MutableInt(0), new HashSet<>());
-        }
-        info.getLeft().increment();
-        final String projectName = pair.getRight();
-        info.getRight().add(projectName);
-        this.table.put(ruleId, info);
+        summary.add(ruleId, minedRule.getProjectName(), minedRule.isDuplicate(), dedupPolicy.keeps(minedRule));
+    }
+
+    /* name under which the rule is counted; null if it is not counted */
+    static String ruleIdOf(final Rule rule) {
+        final Pair<Rule, String> pair = praprSpecialize(new ImmutablePair<>(rule, null));
+        return pair == null ? null : pair.getLeft().getClass().getSimpleName();
     }
 
     private static Pair<Rule, String> praprSpecialize(final Pair<Rule, String> raw) {
@@ -116,19 +116,9 @@ public abstract class StatisticsRenderer extends Consumer {
     @Override
     protected void cleanup() {
         System.out.println("Presenting statistics...");
-        final ToIntFunction<Map.Entry<String, Pair<MutableInt, Set<String>>>> getCount =
-                e -> e.getValue().getLeft().intValue();
-        try (final PrintWriter pwGeneralPatterns = new PrintWriter("out-general.csv");
-             final PrintWriter pwProjectsCount = new PrintWriter("out-projects.csv")) {
-            this.table.entrySet().stream()
-                    .sorted(Comparator.comparingInt(getCount).reversed())
-                    .forEach(ent -> {
-                        final int projectsCount = ent.getValue().getRight().size();
-                        final int occurrenceCount = getCount.applyAsInt(ent);
-                        final String ruleId = ent.getKey();
-                        pwGeneralPatterns.printf("%s,%d%n", ruleId, occurrenceCount);
-                        pwProjectsCount.printf("%s,%d%n", ruleId, projectsCount);
-                    });
+        try {
+            this.summary.render();
+            this.summary.save(new File(SUMMARY_FILE_NAME));
         } catch (Exception e) {
             Util.panic(e);
         }
@@ -0,0 +1,102 @@
+package edu.utdallas.fpm.main;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/* pattern statistics of a run, kept in a form that adds up: the summaries of
+ * the shards of a corpus merge into the summary of the whole corpus, because
+ * copies of a pair always fall in the same shard (see MiningPipeline) */
+final class Summary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /* rule-name --> (count, {project-names}) */
+    private final Map<String, Pair<MutableInt, Set<String>>> table;
+    /* rule-name --> (count over all copies, count over distinct pairs) */
+    private final Map<String, Pair<MutableInt, MutableInt>> dedupTable;
+
+    Summary() {
+        this.table = new HashMap<>();
+        this.dedupTable = new HashMap<>();
+    }
+
+    /* a rule of a pair; only kept rules make it into the main table */
+    void add(final String ruleId,
+             final String projectName,
+             final boolean duplicate,
+             final boolean kept) {
+        final Pair<MutableInt, MutableInt> counts = dedupCounts(ruleId);
+        counts.getLeft().increment();
+        if (!duplicate) {
+            counts.getRight().increment();
+        }
+        if (kept) {
+            final Pair<MutableInt, Set<String>> info = info(ruleId);
+            info.getLeft().increment();
+            info.getRight().add(projectName);
+        }
+    }
+
+    void merge(final Summary other) {
+        for (final Map.Entry<String, Pair<MutableInt, Set<String>>> ent : other.table.entrySet()) {
+            final Pair<MutableInt, Set<String>> info = info(ent.getKey());
+            info.getLeft().add(ent.getValue().getLeft());
+            info.getRight().addAll(ent.getValue().getRight());
+        }
+        for (final Map.Entry<String, Pair<MutableInt, MutableInt>> ent : other.dedupTable.entrySet()) {
+            final Pair<MutableInt, MutableInt> counts = dedupCounts(ent.getKey());
+            counts.getLeft().add(ent.getValue().getLeft());
+            counts.getRight().add(ent.getValue().getRight());
+        }
+    }
+
+    private Pair<MutableInt, Set<String>> info(final String ruleId) {
+        return this.table.computeIfAbsent(ruleId,
+                k -> new ImmutablePair<>(new MutableInt(0), new HashSet<>()));
+    }
+
+    private Pair<MutableInt, MutableInt> dedupCounts(final String ruleId) {
+        return this.dedupTable.computeIfAbsent(ruleId,
+                k -> new ImmutablePair<>(new MutableInt(0), new MutableInt(0)));
+    }
+
+    /* ties are broken by rule name, so that the same statistics always render
+     * the same, however they were put together */
+    void render() throws IOException {
+        final ToIntFunction<Map.Entry<String, Pair<MutableInt, Set<String>>>> getCount =
+                e -> e.getValue().getLeft().intValue();
+        try (final PrintWriter pwGeneralPatterns = new PrintWriter("out-general.csv");
+             final PrintWriter pwProjectsCount = new PrintWriter("out-projects.csv");
+             final PrintWriter pwDedupCount = new PrintWriter("out-dedup.csv")) {
+            this.table.entrySet().stream()
+                    .sorted(Comparator.comparingInt(getCount).reversed()
+                            .thenComparing(Map.Entry::getKey))
+                    .forEach(ent -> {
+                        final int projectsCount = ent.getValue().getRight().size();
+                        final int occurrenceCount = getCount.applyAsInt(ent);
+                        final String ruleId = ent.getKey();
+                        pwGeneralPatterns.printf("%s,%d%n", ruleId, occurrenceCount);
+                        pwProjectsCount.printf("%s,%d%n", ruleId, projectsCount);
+                    });
+            /* rule-name, count over all copies, count over distinct pairs */
+            this.dedupTable.entrySet().stream()
+                    .sorted(Comparator.<Map.Entry<String, Pair<MutableInt, MutableInt>>>comparingInt(e ->
+                            -e.getValue().getLeft().intValue())
+                            .thenComparing(Map.Entry::getKey))
+                    .forEach(ent -> pwDedupCount.printf("%s,%d,%d%n",
+                            ent.getKey(),
+                            ent.getValue().getLeft().intValue(),
+                            ent.getValue().getRight().intValue()));
+        }
+    }
+
+    void save(final File file) throws IOException {
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            oos.writeObject(this);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package edu.utdallas.fpm.main;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/* parent-side handle of a child JVM running DiffWorker */
+final class WorkerProcess {
+    private final Process process;
+    private final ObjectOutputStream toWorker;
+    private final ObjectInputStream fromWorker;
+    private int servedPairs;
+
+    private WorkerProcess(final Process process) throws IOException {
+        this.process = process;
+        this.toWorker = new ObjectOutputStream(new BufferedOutputStream(process.getOutputStream()));
+        this.toWorker.flush(); // the worker waits for our stream header
+        this.fromWorker = new ObjectInputStream(new BufferedInputStream(process.getInputStream()));
+        this.servedPairs = 0;
+    }
+
+    static WorkerProcess spawn(final int hunkScopedMinLines) throws IOException {
+        final List<String> command = new ArrayList<>();
+        command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getPath());
+        /* children get the same heap and GC settings as us */
+        for (final String jvmArg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (jvmArg.startsWith("-X")) {
+                command.add(jvmArg);
+            }
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(DiffWorker.class.getName());
+        command.add(String.valueOf(hunkScopedMinLines));
+        final Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        return new WorkerProcess(process);
+    }
+
+    /* blocks until the worker answers; fails if the worker dies or is killed */
+    MiningResult mine(final String buggyName,
+                      final String buggySource,
+                      final String fixedName,
+                      final String fixedSource) throws IOException, ClassNotFoundException {
+        this.servedPairs++;
+        this.toWorker.writeObject(new String[] {buggyName, buggySource, fixedName, fixedSource});
+        this.toWorker.flush();
+        this.toWorker.reset();
+        return (MiningResult) this.fromWorker.readObject();
+    }
+
+    int getServedPairs() {
+        return this.servedPairs;
+    }
+
+    void kill() {
+        this.process.destroyForcibly();
+    }
+
+    void close() {
+        try {
+            this.toWorker.writeObject(null);
+            this.toWorker.flush();
+            if (!this.process.waitFor(10, TimeUnit.SECONDS)) {
+                kill();
+            }
+        } catch (Exception e) {
+            kill();
+        }
+    }
+}
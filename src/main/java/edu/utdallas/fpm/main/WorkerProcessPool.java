@@ -0,0 +1,151 @@
+package edu.utdallas.fpm.main;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.System.out;
+
+/* a pool of diff worker processes. a worker that times out is killed, and a
+ * worker that has served a given number of pairs is restarted, so that neither
+ * a runaway diff nor a slow leak can affect the rest of the run. a worker that
+ * cannot be restarted is tried again on the next pair; while no worker at all
+ * is running, pairs fail rather than wait */
+final class WorkerProcessPool {
+    private final BlockingQueue<WorkerProcess> idleWorkers;
+    /* blocking reads from the workers happen here, so that we can time them out */
+    private final ExecutorService readers;
+    private final int timeout;
+    private final int recycleAfter;
+    private final int hunkScopedMinLines;
+    private final int size;
+    /* number of worker processes started so far, recycled ones included */
+    private final AtomicInteger spawned;
+    /* number of workers that could not be restarted */
+    private final AtomicInteger missing;
+
+    WorkerProcessPool(final int size,
+                      final int timeout,
+                      final int recycleAfter,
+                      final int hunkScopedMinLines) {
+        this.idleWorkers = new LinkedBlockingQueue<>();
+        this.readers = Executors.newCachedThreadPool(r -> {
+            final Thread reader = new Thread(r);
+            reader.setDaemon(true);
+            return reader;
+        });
+        this.timeout = timeout;
+        this.recycleAfter = recycleAfter;
+        this.hunkScopedMinLines = hunkScopedMinLines;
+        this.size = size;
+        this.spawned = new AtomicInteger(0);
+        this.missing = new AtomicInteger(0);
+        for (int i = 0; i < size; i++) {
+            this.idleWorkers.add(spawn());
+        }
+    }
+
+    private WorkerProcess spawn() {
+        this.spawned.incrementAndGet();
+        try {
+            return WorkerProcess.spawn(this.hunkScopedMinLines);
+        } catch (Exception e) {
+            throw new IllegalStateException("unable to start a diff worker", e);
+        }
+    }
+
+    /* null if the worker cannot be started */
+    private WorkerProcess respawn() {
+        try {
+            return spawn();
+        } catch (IllegalStateException e) {
+            out.printf("warning: \'%s\' swallowed.%n", e.getMessage());
+            return null;
+        }
+    }
+
+    private void putBack(final WorkerProcess worker) {
+        if (worker == null) {
+            this.missing.incrementAndGet();
+        } else {
+            this.idleWorkers.add(worker);
+        }
+    }
+
+    /* null if no worker is running */
+    private WorkerProcess takeWorker() throws InterruptedException {
+        int count;
+        while ((count = this.missing.get()) > 0) {
+            if (this.missing.compareAndSet(count, count - 1)) {
+                final WorkerProcess worker = respawn();
+                putBack(worker);
+                if (worker == null) {
+                    break;
+                }
+            }
+        }
+        WorkerProcess worker;
+        while ((worker = this.idleWorkers.poll(1L, TimeUnit.SECONDS)) == null) {
+            if (this.missing.get() >= this.size) {
+                return null;
+            }
+        }
+        return worker;
+    }
+
+    MiningResult mine(final String buggyName,
+                      final String buggySource,
+                      final String fixedName,
+                      final String fixedSource) {
+        final WorkerProcess worker;
+        try {
+            worker = takeWorker();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return MiningResult.FAILED;
+        }
+        if (worker == null) {
+            out.println("warning: no diff worker is running");
+            return MiningResult.FAILED;
+        }
+        final Future<MiningResult> task = this.readers.submit(() -> worker.mine(buggyName,
+                buggySource,
+                fixedName,
+                fixedSource));
+        WorkerProcess next = worker;
+        MiningResult result;
+        try {
+            if (this.timeout < 0) {
+                result = task.get();
+            } else {
+                result = task.get(this.timeout, TimeUnit.SECONDS);
+            }
+            if (worker.getServedPairs() >= this.recycleAfter) {
+                worker.close();
+                next = respawn();
+            }
+        } catch (TimeoutException te) {
+            worker.kill(); // this also makes the pending read fail
+            next = respawn();
+            result = MiningResult.TIMED_OUT;
+        } catch (InterruptedException | ExecutionException e) {
+            out.printf("warning: diff worker died (\'%s\')%n", e.getMessage());
+            worker.kill();
+            next = respawn();
+            result = MiningResult.FAILED;
+        }
+        putBack(next);
+        return result;
+    }
+
+    int getSpawned() {
+        return this.spawned.get();
+    }
+
+    void shutdown() {
+        WorkerProcess worker;
+        while ((worker = this.idleWorkers.poll()) != null) {
+            worker.close();
+        }
+        this.readers.shutdownNow();
+    }
+}
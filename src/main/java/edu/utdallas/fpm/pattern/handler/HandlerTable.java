@@ -0,0 +1,137 @@
+package edu.utdallas.fpm.pattern.handler;
+
+import edu.utdallas.fpm.pattern.rules.Rule;
+import edu.utdallas.fpm.pattern.rules.UnknownRule;
+import gumtree.spoon.diff.operations.Operation;
+import spoon.reflect.declaration.CtElement;
+
+import java.util.*;
+
+/* dispatch table for chains of point handlers. whether a handler can handle an
+ * operation depends only on the classes of the operation and of its nodes, so
+ * for each such triple the table keeps, chain by chain, the handlers that can
+ * possibly match, in chain order; an operation then only reaches those. spoon
+ * implementation classes are not known up front, so the entry of a triple is
+ * compiled the first time it is seen.
+ * the table also counts the rules each handler produces. handlers are
+ * stateful, and so is the table; it should not be shared among threads */
+public final class HandlerTable {
+    private static final OperationHandler[][] NO_ROUTES = new OperationHandler[0][];
+
+    private static final class Key {
+        private final Class<?> kind;
+        private final Class<?> src;
+        private final Class<?> dst;
+
+        Key(final Operation operation) {
+            this.kind = operation.getClass();
+            this.src = classOf(operation.getSrcNode());
+            this.dst = classOf(operation.getDstNode());
+        }
+
+        private static Class<?> classOf(final CtElement element) {
+            return element == null ? null : element.getClass();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return this.kind == that.kind && this.src == that.src && this.dst == that.dst;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * this.kind.hashCode() + Objects.hashCode(this.src))
+                    + Objects.hashCode(this.dst);
+        }
+    }
+
+    private final OperationHandler[] chains;
+    private final Map<Key, OperationHandler[][]> routes;
+    /* positions of the handlers in hits, in chain order; dummies are not counted */
+    private final Map<OperationHandler, Integer> positions;
+    private final long[] hits;
+
+    public HandlerTable(final OperationHandler... chains) {
+        this.chains = chains;
+        this.routes = new HashMap<>();
+        this.positions = new IdentityHashMap<>();
+        for (final OperationHandler chain : chains) {
+            for (OperationHandler handler = chain; handler != null; handler = handler.next) {
+                if (!(handler instanceof DummyOperationHandler)) {
+                    this.positions.putIfAbsent(handler, this.positions.size());
+                }
+            }
+        }
+        this.hits = new long[this.positions.size()];
+    }
+
+    /* same as offering the operation to each chain that can handle it, and
+     * adding the rules found to rules */
+    public void handle(final Operation operation, final List<Rule> rules) {
+        final OperationHandler[][] routes =
+                this.routes.computeIfAbsent(new Key(operation), k -> compile(operation));
+        if (routes.length == 0) {
+            return;
+        }
+        final CtElement src = operation.getSrcNode();
+        final CtElement dst = operation.getDstNode();
+        for (final OperationHandler[] route : routes) {
+            for (final OperationHandler handler : route) {
+                final Rule rule = handler.handlePattern(src, dst);
+                if (rule != null) {
+                    if (!(rule instanceof UnknownRule)) {
+                        final Integer position = this.positions.get(handler);
+                        if (position != null) {
+                            this.hits[position]++;
+                        }
+                        rules.add(rule);
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    private OperationHandler[][] compile(final Operation operation) {
+        final CtElement src = operation.getSrcNode();
+        final CtElement dst = operation.getDstNode();
+        final List<OperationHandler[]> routes = new ArrayList<>();
+        for (final OperationHandler chain : this.chains) {
+            if (chain == null || !chain.canHandleOperation(operation)) {
+                continue;
+            }
+            final List<OperationHandler> route = new ArrayList<>();
+            for (OperationHandler handler = chain; handler != null; handler = handler.next) {
+                if (handler.canHandlePattern(src, dst)) {
+                    route.add(handler);
+                }
+            }
+            /* a route that can only end up in a dummy finds nothing */
+            if (route.stream().anyMatch(h -> !(h instanceof DummyOperationHandler))) {
+                routes.add(route.toArray(new OperationHandler[0]));
+            }
+        }
+        return routes.isEmpty() ? NO_ROUTES : routes.toArray(new OperationHandler[0][]);
+    }
+
+    /* number of rules produced by each handler so far, by handler name, in
+     * chain order */
+    public Map<String, Long> getHits() {
+        final Map<String, Long> hits = new LinkedHashMap<>();
+        final OperationHandler[] handlers = new OperationHandler[this.hits.length];
+        for (final Map.Entry<OperationHandler, Integer> entry : this.positions.entrySet()) {
+            handlers[entry.getValue()] = entry.getKey();
+        }
+        for (int i = 0; i < handlers.length; i++) {
+            hits.merge(handlers[i].getClass().getSimpleName(), this.hits[i], Long::sum);
+        }
+        return hits;
+    }
+}
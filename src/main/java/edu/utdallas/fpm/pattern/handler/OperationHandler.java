@@ -16,9 +16,9 @@ public abstract class OperationHandler {
     protected abstract boolean canHandlePattern(CtElement e1, CtElement e2);
 
     /*e2 is unused for delete and insert operations*/
+    /*null means no match, and the handlers after this one get their turn*/
     protected Rule handlePattern(CtElement e1, CtElement e2) {
-        final Rule rule = this.next != null ? this.next.handleOperation(e1, e2) : null;
-        return rule;
+        return null;
     }
 
     public abstract boolean canHandleOperation(Operation operation);
@@ -30,14 +30,14 @@ public abstract class OperationHandler {
     }
 
     private Rule handleOperation(final CtElement src, final CtElement dst) {
-        final Rule result;
-        if (canHandlePattern(src, dst)) {
-            result = handlePattern(src, dst);
-        } else if (this.next != null) {
-            result = this.next.handleOperation(src, dst);
-        } else {
-            result = UnknownRule.UNKNOWN_RULE;
+        for (OperationHandler handler = this; handler != null; handler = handler.next) {
+            if (handler.canHandlePattern(src, dst)) {
+                final Rule rule = handler.handlePattern(src, dst);
+                if (rule != null) {
+                    return rule;
+                }
+            }
         }
-        return result;
+        return UnknownRule.UNKNOWN_RULE;
     }
 }
@@ -7,8 +7,6 @@ import edu.utdallas.fpm.pattern.rules.Rule;
 import spoon.reflect.code.CtInvocation;
 import spoon.reflect.declaration.CtElement;
 
-import java.util.Objects;
-
 public class ArgumentListUpdate extends UpdateHandler {
     public ArgumentListUpdate(OperationHandler next) {
         super(next);
@@ -26,8 +24,8 @@ public class ArgumentListUpdate extends UpdateHandler {
         final String methodNameSrc = getMethodName(sin);
         final String methodNameDst = getMethodName(din);
         if (methodNameDst.equals(methodNameSrc)) {
-            if (Objects.equals(sin.getTarget(), din.getTarget())
-                    && !Objects.equals(sin.getArguments(), din.getArguments())) {
+            if (Util.equalsElement(sin.getTarget(), din.getTarget())
+                    && !Util.equalsElements(sin.getArguments(), din.getArguments())) {
                 if (Util.sibling(sin, din)) {
                     return new ArgumentListUpdateRule();
                 }
@@ -7,8 +7,6 @@ import edu.utdallas.fpm.pattern.rules.Rule;
 import spoon.reflect.code.CtBinaryOperator;
 import spoon.reflect.declaration.CtElement;
 
-import java.util.Objects;
-
 /**
  * Responsible for things like this:
  *  a + b -> a * b
@@ -31,9 +29,9 @@ public class BinaryOperatorReplacement extends UpdateHandler {
         final CtBinaryOperator bo1 = (CtBinaryOperator) e1;
         final CtBinaryOperator bo2 = (CtBinaryOperator) e2;
         if (bo1.getKind() != bo2.getKind()
-                && Objects.equals(bo1.getType(), bo2.getType())
-                && Objects.equals(bo1.getLeftHandOperand(), bo2.getLeftHandOperand())
-                && Objects.equals(bo1.getRightHandOperand(), bo2.getRightHandOperand())) {
+                && Util.equalsElement(bo1.getType(), bo2.getType())
+                && Util.equalsElement(bo1.getLeftHandOperand(), bo2.getLeftHandOperand())
+                && Util.equalsElement(bo1.getRightHandOperand(), bo2.getRightHandOperand())) {
             if (Util.sibling(bo1, bo2)) {
                 return new BinaryOperatorReplacementRule(bo1.getKind(), bo2.getKind());
             }
@@ -7,8 +7,6 @@ import edu.utdallas.fpm.pattern.rules.Rule;
 import spoon.reflect.code.CtLiteral;
 import spoon.reflect.declaration.CtElement;
 
-import java.util.Objects;
-
 public class ConstantReplacement extends UpdateHandler {
     public ConstantReplacement(OperationHandler next) {
         super(next);
@@ -23,7 +21,7 @@ public class ConstantReplacement extends UpdateHandler {
     protected Rule handlePattern(CtElement e1, CtElement e2) {
         final CtLiteral l1 = (CtLiteral) e1;
         final CtLiteral l2 = (CtLiteral) e2;
-        if (Objects.equals(l1.getType(), l2.getType())) {
+        if (Util.equalsElement(l1.getType(), l2.getType())) {
             if (Util.sibling(l1, l2)) {
                 return new ConstantReplacementRule(l1, l2);
             }
@@ -8,8 +8,6 @@ import spoon.reflect.code.CtConstructorCall;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.reference.CtTypeReference;
 
-import java.util.Objects;
-
 public class CtorReplacement extends UpdateHandler {
     public CtorReplacement(OperationHandler next) {
         super(next);
@@ -26,7 +24,7 @@ public class CtorReplacement extends UpdateHandler {
         final CtConstructorCall cc2 = (CtConstructorCall) e2;
         final CtTypeReference t1 = cc1.getType();
         final CtTypeReference t2 = cc2.getType();
-        if (!Objects.equals(t1, t2) && cc1.getArguments().equals(cc2.getArguments())) {
+        if (!Util.equalsElement(t1, t2) && Util.equalsElements(cc1.getArguments(), cc2.getArguments())) {
             if (Util.sibling(cc1, cc2)) {
                 final String srcQualifiedName = t1.getQualifiedName();
                 final String dstQualifiedName = t2.getQualifiedName();
@@ -8,8 +8,6 @@ import spoon.reflect.code.CtFieldAccess;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.reference.CtFieldReference;
 
-import java.util.Objects;
-
 /**
  * Handles cases like
  *  field1 -> field2
@@ -35,8 +33,8 @@ public class FieldNameReplacement extends UpdateHandler {
         final CtFieldAccess fa2 = (CtFieldAccess) e2;
         final CtFieldReference f1 = fa1.getVariable();
         final CtFieldReference f2 = fa2.getVariable();
-        if (Objects.equals(f1.getType(), f2.getType())) {
-            if (Objects.equals(fa1.getTarget(), fa2.getTarget())) {
+        if (Util.equalsElement(f1.getType(), f2.getType())) {
+            if (Util.equalsElement(fa1.getTarget(), fa2.getTarget())) {
                 final String srcFieldName = f1.getQualifiedName();
                 final String dstFieldName = f2.getQualifiedName();
                 if (!srcFieldName.equals(dstFieldName) && Util.sibling(fa1, fa2)) {
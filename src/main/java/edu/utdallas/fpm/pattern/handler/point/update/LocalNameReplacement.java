@@ -7,8 +7,6 @@ import edu.utdallas.fpm.pattern.rules.Rule;
 import spoon.reflect.code.CtVariableAccess;
 import spoon.reflect.declaration.CtElement;
 
-import java.util.Objects;
-
 public class LocalNameReplacement extends UpdateHandler {
     protected LocalNameReplacement(OperationHandler next) {
         super(next);
@@ -23,7 +21,7 @@ public class LocalNameReplacement extends UpdateHandler {
     protected Rule handlePattern(CtElement e1, CtElement e2) {
         final CtVariableAccess va1 = (CtVariableAccess) e1;
         final CtVariableAccess va2 = (CtVariableAccess) e2;
-        if (Objects.equals(va1.getType(), va2.getType())) {
+        if (Util.equalsElement(va1.getType(), va2.getType())) {
             final String srcName = va1.getVariable().getSimpleName();
             final String dstName = va2.getVariable().getSimpleName();
             if (!srcName.equals(dstName) && Util.sibling(va1, va2)) {
@@ -7,8 +7,6 @@ import edu.utdallas.fpm.pattern.rules.Rule;
 import spoon.reflect.code.CtInvocation;
 import spoon.reflect.declaration.CtElement;
 
-import java.util.Objects;
-
 /**
  * Responsible for method invocations only
  */
@@ -29,8 +27,8 @@ public class MethodNameReplacement extends UpdateHandler {
         final String methodNameSrc = getMethodName(sin);
         final String methodNameDst = getMethodName(din);
         if (!methodNameDst.equals(methodNameSrc)) {
-            if (Objects.equals(sin.getTarget(), din.getTarget())
-                    && Objects.equals(sin.getArguments(), din.getArguments())) {
+            if (Util.equalsElement(sin.getTarget(), din.getTarget())
+                    && Util.equalsElements(sin.getArguments(), din.getArguments())) {
                 if (Util.sibling(sin, din)) {
                     return new MethodNameReplacementRule(methodNameSrc, methodNameDst);
                 }
@@ -9,8 +9,6 @@ import spoon.reflect.code.CtUnaryOperator;
 import spoon.reflect.code.UnaryOperatorKind;
 import spoon.reflect.declaration.CtElement;
 
-import java.util.Objects;
-
 /**
  * Takes care of patterns like
  *  a++ -> a--
@@ -39,8 +37,8 @@ public class UnaryOperatorReplacement extends UpdateHandler {
     protected Rule handlePattern(CtElement e1, CtElement e2) {
         final CtUnaryOperator uo1 = (CtUnaryOperator) e1;
         final CtUnaryOperator uo2 = (CtUnaryOperator) e2;
-        if (Objects.equals(uo1.getType(), uo2.getType())
-                && Objects.equals(uo1.getOperand(), uo2.getOperand())) {
+        if (Util.equalsElement(uo1.getType(), uo2.getType())
+                && Util.equalsElement(uo1.getOperand(), uo2.getOperand())) {
             if (Util.sibling(uo1, uo2)) {
                 if (interFix(uo1.getKind(), uo2.getKind())) {
                     return new InterFixUnaryOperatorReplacementRule(uo1.getKind(), uo2.getKind());
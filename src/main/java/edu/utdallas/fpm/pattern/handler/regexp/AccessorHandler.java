@@ -12,8 +12,17 @@ import spoon.reflect.code.CtInvocation;
 import spoon.reflect.declaration.CtElement;
 
 public class AccessorHandler extends RegExpHandler {
+    private final DelFieldState delFieldState;
+    private final DIFieldToMethState diFieldToMethState;
+    private final DelInvState delInvState;
+    private final DIMethToFieldState diMethToFieldState;
+
     public AccessorHandler() {
         initState = new InitState();
+        this.delFieldState = new DelFieldState();
+        this.diFieldToMethState = new DIFieldToMethState();
+        this.delInvState = new DelInvState();
+        this.diMethToFieldState = new DIMethToFieldState();
         this.state = initState;
         this.consumed = 0;
     }
@@ -25,21 +34,27 @@ public class AccessorHandler extends RegExpHandler {
                 final CtElement deletedElement = operation.getSrcNode();
                 if (deletedElement instanceof CtInvocation) {
                     final CtInvocation invocation = (CtInvocation) deletedElement;
-                    return new DelInvState(invocation);
+                    return delInvState.enter(invocation);
                 } else if (deletedElement instanceof CtFieldAccess) {
                     final CtFieldAccess fieldAccess = (CtFieldAccess) deletedElement;
-                    return new DelFieldState(fieldAccess);
+                    return delFieldState.enter(fieldAccess);
                 }
             }
             return this;
         }
     }
 
-    private class DelFieldState implements State {
-        private final CtFieldAccess deletedFieldAccess;
+    private class DelFieldState implements PairingState {
+        private CtFieldAccess deletedFieldAccess;
 
-        public DelFieldState(CtFieldAccess deletedFieldAccess) {
+        DelFieldState enter(CtFieldAccess deletedFieldAccess) {
             this.deletedFieldAccess = deletedFieldAccess;
+            return this;
+        }
+
+        @Override
+        public Class<? extends CtElement> getInsertedType() {
+            return CtInvocation.class;
         }
 
         @Override
@@ -54,7 +69,7 @@ public class AccessorHandler extends RegExpHandler {
                         final String deletedFieldName = this.deletedFieldAccess
                                 .getVariable()
                                 .getQualifiedName();
-                        return new DIFieldToMethState(deletedFieldName, methodName);
+                        return diFieldToMethState.enter(deletedFieldName, methodName);
                     }
                 }
             }
@@ -63,12 +78,13 @@ public class AccessorHandler extends RegExpHandler {
     }
 
     private class DIFieldToMethState implements AcceptanceState {
-        private final String deletedFieldName;
-        private final String insertedMethodName;
+        private String deletedFieldName;
+        private String insertedMethodName;
 
-        public DIFieldToMethState(String deletedFieldName, String insertedMethodName) {
+        DIFieldToMethState enter(String deletedFieldName, String insertedMethodName) {
             this.deletedFieldName = deletedFieldName;
             this.insertedMethodName = insertedMethodName;
+            return this;
         }
 
         @Override
@@ -83,11 +99,17 @@ public class AccessorHandler extends RegExpHandler {
         }
     }
 
-    private class DelInvState implements State {
-        private final CtInvocation deletedMethodInv;
+    private class DelInvState implements PairingState {
+        private CtInvocation deletedMethodInv;
 
-        public DelInvState(CtInvocation deletedMethodInv) {
+        DelInvState enter(CtInvocation deletedMethodInv) {
             this.deletedMethodInv = deletedMethodInv;
+            return this;
+        }
+
+        @Override
+        public Class<? extends CtElement> getInsertedType() {
+            return CtFieldAccess.class;
         }
 
         @Override
@@ -102,7 +124,7 @@ public class AccessorHandler extends RegExpHandler {
                         final String deletedMethodName = this.deletedMethodInv
                                 .getExecutable()
                                 .getSignature();
-                        return new DIMethToFieldState(deletedMethodName, fieldName);
+                        return diMethToFieldState.enter(deletedMethodName, fieldName);
                     }
                 }
             }
@@ -111,12 +133,13 @@ public class AccessorHandler extends RegExpHandler {
     }
 
     private class DIMethToFieldState implements AcceptanceState {
-        private final String deletedMethodName;
-        private final String insertedFieldName;
+        private String deletedMethodName;
+        private String insertedFieldName;
 
-        public DIMethToFieldState(String deletedMethodName, String insertedFieldName) {
+        DIMethToFieldState enter(String deletedMethodName, String insertedFieldName) {
             this.deletedMethodName = deletedMethodName;
             this.insertedFieldName = insertedFieldName;
+            return this;
         }
 
         @Override
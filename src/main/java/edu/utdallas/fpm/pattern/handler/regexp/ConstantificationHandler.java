@@ -10,8 +10,23 @@ import spoon.reflect.declaration.CtElement;
 import spoon.reflect.reference.CtTypeReference;
 
 public class ConstantificationHandler extends RegExpHandler {
+    private final InvDelState invDelState;
+    private final InvReplacedState invReplacedState;
+    private final CtorCallDelState ctorCallDelState;
+    private final CtorCallReplacedState ctorCallReplacedState;
+    private final DelExprState delExprState;
+    private final ExprReplacedState exprReplacedState;
+    private final ReturnedExprReplacedState returnedExprReplacedState;
+
     public ConstantificationHandler() {
         initState = new InitState();
+        this.invDelState = new InvDelState();
+        this.invReplacedState = new InvReplacedState();
+        this.ctorCallDelState = new CtorCallDelState();
+        this.ctorCallReplacedState = new CtorCallReplacedState();
+        this.delExprState = new DelExprState();
+        this.exprReplacedState = new ExprReplacedState();
+        this.returnedExprReplacedState = new ReturnedExprReplacedState();
         this.state = initState;
         this.consumed = 0;
     }
@@ -35,12 +50,12 @@ public class ConstantificationHandler extends RegExpHandler {
                         /* non-void method call                              */
                         /* an invocation that is expression must be non-void */
                         final CtInvocation deletedInv = (CtInvocation) deletedExpr;
-                        return new InvDelState(deletedInv);
+                        return invDelState.enter(deletedInv);
                     } else if (deletedExpr instanceof CtConstructorCall
                             || deletedExpr instanceof CtNewClass) {
-                        return new CtorCallDelState(deletedExpr);
+                        return ctorCallDelState.enter(deletedExpr);
                     } else if (!isTrivialExp(deletedExpr)) {
-                        return new DelExprState(deletedExpr);
+                        return delExprState.enter(deletedExpr);
                     }
                 }
             }
@@ -65,10 +80,11 @@ public class ConstantificationHandler extends RegExpHandler {
     }
 
     private class InvDelState implements State {
-        private final CtInvocation deletedInvocation;
+        private CtInvocation deletedInvocation;
 
-        public InvDelState(CtInvocation deletedInvocation) {
+        InvDelState enter(CtInvocation deletedInvocation) {
             this.deletedInvocation = deletedInvocation;
+            return this;
         }
 
         @Override
@@ -80,7 +96,7 @@ public class ConstantificationHandler extends RegExpHandler {
                     final CtTypeReference returnType = this.deletedInvocation.getType();
                     if (Util.equalsType(returnType, insertedLiteral.getType())) {
                         if (Util.sibling(this.deletedInvocation, insertedLiteral)) {
-                            return new InvReplacedState(insertedLiteral);
+                            return invReplacedState.enter(insertedLiteral);
                         }
                     }
                 }
@@ -90,10 +106,11 @@ public class ConstantificationHandler extends RegExpHandler {
     }
 
     private class InvReplacedState implements AcceptanceState {
-        private final CtLiteral literal;
+        private CtLiteral literal;
 
-        public InvReplacedState(CtLiteral literal) {
+        InvReplacedState enter(CtLiteral literal) {
             this.literal = literal;
+            return this;
         }
 
         @Override
@@ -108,11 +125,12 @@ public class ConstantificationHandler extends RegExpHandler {
     }
 
     private class CtorCallDelState implements State {
-        private final CtExpression deletedCtorCall;
+        private CtExpression deletedCtorCall;
 
-        public CtorCallDelState(CtExpression deletedCtorCall) {
+        CtorCallDelState enter(CtExpression deletedCtorCall) {
             /* this could be CtConstructorCall or CtNewClass */
             this.deletedCtorCall = deletedCtorCall;
+            return this;
         }
 
         @Override
@@ -124,7 +142,7 @@ public class ConstantificationHandler extends RegExpHandler {
                     final CtTypeReference objType = this.deletedCtorCall.getType();
                     if (Util.equalsType(objType, insertedLiteral.getType())) {
                         if (Util.sibling(this.deletedCtorCall, insertedLiteral)) {
-                            return new CtorCallReplacedState(insertedLiteral);
+                            return ctorCallReplacedState.enter(insertedLiteral);
                         }
                     }
                 }
@@ -134,10 +152,11 @@ public class ConstantificationHandler extends RegExpHandler {
     }
 
     private class CtorCallReplacedState implements AcceptanceState {
-        private final CtLiteral literal;
+        private CtLiteral literal;
 
-        public CtorCallReplacedState(CtLiteral literal) {
+        CtorCallReplacedState enter(CtLiteral literal) {
             this.literal = literal;
+            return this;
         }
 
         @Override
@@ -152,10 +171,11 @@ public class ConstantificationHandler extends RegExpHandler {
     }
 
     private class DelExprState implements State {
-        private final CtExpression deletedExpr;
+        private CtExpression deletedExpr;
 
-        public DelExprState(CtExpression deletedExpr) {
+        DelExprState enter(CtExpression deletedExpr) {
             this.deletedExpr = deletedExpr;
+            return this;
         }
 
         @Override
@@ -169,9 +189,9 @@ public class ConstantificationHandler extends RegExpHandler {
                         if (Util.sibling(this.deletedExpr, insertedLiteral)) {
                             final CtElement parent = insertedLiteral.getParent();
                             if (parent instanceof CtReturn) {
-                                return new ReturnedExprReplacedState(insertedLiteral);
+                                return returnedExprReplacedState.enter(insertedLiteral);
                             }
-                            return new ExprReplacedState(insertedLiteral);
+                            return exprReplacedState.enter(insertedLiteral);
                         }
                     }
                 }
@@ -181,10 +201,11 @@ public class ConstantificationHandler extends RegExpHandler {
     }
 
     private class ExprReplacedState implements AcceptanceState {
-        private final CtLiteral literal;
+        private CtLiteral literal;
 
-        ExprReplacedState(final CtLiteral literal) {
+        ExprReplacedState enter(final CtLiteral literal) {
             this.literal = literal;
+            return this;
         }
 
         @Override
@@ -199,10 +220,11 @@ public class ConstantificationHandler extends RegExpHandler {
     }
 
     private class ReturnedExprReplacedState implements AcceptanceState {
-        private final CtLiteral literal;
+        private CtLiteral literal;
 
-        ReturnedExprReplacedState(final CtLiteral literal) {
+        ReturnedExprReplacedState enter(final CtLiteral literal) {
             this.literal = literal;
+            return this;
         }
 
         @Override
@@ -1,5 +1,6 @@
 package edu.utdallas.fpm.pattern.handler.regexp;
 
+import edu.utdallas.fpm.commons.Util;
 import edu.utdallas.fpm.pattern.rules.BinaryOperatorDeletedRule;
 import edu.utdallas.fpm.pattern.rules.Operand;
 import gumtree.spoon.diff.operations.DeleteOperation;
@@ -12,11 +13,14 @@ import spoon.reflect.code.CtExpression;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.reference.CtTypeReference;
 
-import java.util.Objects;
-
 public class DecomposeBinaryOperatorHandler extends RegExpHandler {
+    private final DelState delState;
+    private final PropagatedState propagatedState;
+
     public DecomposeBinaryOperatorHandler() {
         initState = new InitState();
+        this.delState = new DelState();
+        this.propagatedState = new PropagatedState();
         this.state = initState;
         this.consumed = 0;
     }
@@ -29,7 +33,7 @@ public class DecomposeBinaryOperatorHandler extends RegExpHandler {
                 final CtElement deletedElement = delOp.getSrcNode();
                 if (deletedElement instanceof CtBinaryOperator) {
                     final CtBinaryOperator binOp = (CtBinaryOperator) deletedElement;
-                    return new DelState(binOp);
+                    return delState.enter(binOp);
                 }
             }
             return this;
@@ -37,14 +41,15 @@ public class DecomposeBinaryOperatorHandler extends RegExpHandler {
     }
 
     private class DelState implements State {
-        private final CtBinaryOperator deletedBinOp;
-        private final CtExpression left;
-        private final CtExpression right;
+        private CtBinaryOperator deletedBinOp;
+        private CtExpression left;
+        private CtExpression right;
 
-        DelState(final CtBinaryOperator deletedBinOp) {
+        DelState enter(final CtBinaryOperator deletedBinOp) {
             this.deletedBinOp = deletedBinOp;
             this.left = deletedBinOp.getLeftHandOperand();
             this.right = deletedBinOp.getRightHandOperand();
+            return this;
         }
 
         @Override
@@ -56,12 +61,12 @@ public class DecomposeBinaryOperatorHandler extends RegExpHandler {
                     final CtExpression movedExpr = (CtExpression) movedElement;
                     final CtTypeReference movedExprType = movedExpr.getType();
                     final CtTypeReference deletedBinOpType = this.deletedBinOp.getType();
-                    if (Objects.equals(movedExprType, deletedBinOpType)) {
+                    if (Util.equalsElement(movedExprType, deletedBinOpType)) {
                         final BinaryOperatorKind kind = this.deletedBinOp.getKind();
-                        if (Objects.equals(movedExpr, this.left)) {
-                            return new PropagatedState(kind, Operand.LEFT);
-                        } else if (Objects.equals(movedExpr, this.right)) {
-                            return new PropagatedState(kind, Operand.RIGHT);
+                        if (Util.equalsElement(movedExpr, this.left)) {
+                            return propagatedState.enter(kind, Operand.LEFT);
+                        } else if (Util.equalsElement(movedExpr, this.right)) {
+                            return propagatedState.enter(kind, Operand.RIGHT);
                         }
                     }
                 }
@@ -71,12 +76,13 @@ public class DecomposeBinaryOperatorHandler extends RegExpHandler {
     }
 
     private class PropagatedState implements AcceptanceState {
-        private final BinaryOperatorKind kind;
-        private final Operand which;
+        private BinaryOperatorKind kind;
+        private Operand which;
 
-        PropagatedState(BinaryOperatorKind kind, Operand which) {
+        PropagatedState enter(BinaryOperatorKind kind, Operand which) {
             this.kind = kind;
             this.which = which;
+            return this;
         }
 
         @Override
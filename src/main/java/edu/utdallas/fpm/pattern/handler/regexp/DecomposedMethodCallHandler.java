@@ -13,8 +13,13 @@ import spoon.reflect.declaration.CtElement;
 import java.util.List;
 
 public class DecomposedMethodCallHandler extends RegExpHandler {
+    private final DelState delState;
+    private final PropagatedState propagatedState;
+
     public DecomposedMethodCallHandler() {
         initState = new InitState();
+        this.delState = new DelState();
+        this.propagatedState = new PropagatedState();
         this.state = initState;
         this.consumed = 0;
     }
@@ -28,7 +33,7 @@ public class DecomposedMethodCallHandler extends RegExpHandler {
                 if (deletedElement instanceof CtAbstractInvocation) {
                     final CtAbstractInvocation invocation =
                             (CtAbstractInvocation) deletedElement;
-                    return new DelState(invocation);
+                    return delState.enter(invocation);
                 }
             }
             return this;
@@ -36,11 +41,11 @@ public class DecomposedMethodCallHandler extends RegExpHandler {
     }
 
     private class DelState implements State {
-        private final CtAbstractInvocation deletedInv;
-        private final CtExpression rec;
-        private final List<CtExpression> args;
+        private CtAbstractInvocation deletedInv;
+        private CtExpression rec;
+        private List<CtExpression> args;
 
-        DelState(final CtAbstractInvocation deletedInv) {
+        DelState enter(final CtAbstractInvocation deletedInv) {
             this.deletedInv = deletedInv;
             this.args = deletedInv.getArguments();
             if (deletedInv instanceof CtInvocation) {
@@ -49,6 +54,7 @@ public class DecomposedMethodCallHandler extends RegExpHandler {
             } else {
                 this.rec = null;
             }
+            return this;
         }
 
         @Override
@@ -57,11 +63,11 @@ public class DecomposedMethodCallHandler extends RegExpHandler {
                 final MoveOperation movOp = (MoveOperation) operation;
                 final CtElement movedElement = movOp.getDstNode();
                 if (this.rec != null && this.rec.equals(movedElement)) {
-                    return new PropagatedState(0);
+                    return propagatedState.enter(0);
                 } else {
                     final int which = this.args.indexOf(movedElement);
                     if (which >= 0) {
-                        return new PropagatedState(1 + which);
+                        return propagatedState.enter(1 + which);
                     }
                 }
             }
@@ -70,10 +76,11 @@ public class DecomposedMethodCallHandler extends RegExpHandler {
     }
 
     private class PropagatedState implements AcceptanceState {
-        private final int which;
+        private int which;
 
-        PropagatedState(int which) {
+        PropagatedState enter(int which) {
             this.which = which;
+            return this;
         }
 
         @Override
@@ -9,8 +9,25 @@ import spoon.reflect.code.*;
 import spoon.reflect.declaration.CtElement;
 
 public class FieldLocalReplacementHandler extends RegExpHandler {
+    private final DelVarWrite delVarWrite;
+    private final InsFieldWrite insFieldWrite;
+    private final DelVarRead delVarRead;
+    private final InsFieldRead insFieldRead;
+    private final DelFieldRead delFieldRead;
+    private final InsLocalRead insLocalRead;
+    private final DelFieldWrite delFieldWrite;
+    private final InsLocalWrite insLocalWrite;
+
     public FieldLocalReplacementHandler() {
         initState = new InitState();
+        this.delVarWrite = new DelVarWrite();
+        this.insFieldWrite = new InsFieldWrite();
+        this.delVarRead = new DelVarRead();
+        this.insFieldRead = new InsFieldRead();
+        this.delFieldRead = new DelFieldRead();
+        this.insLocalRead = new InsLocalRead();
+        this.delFieldWrite = new DelFieldWrite();
+        this.insLocalWrite = new InsLocalWrite();
         this.state = initState;
         this.consumed = 0;
     }
@@ -23,27 +40,33 @@ public class FieldLocalReplacementHandler extends RegExpHandler {
                 final CtElement deletedElement = delOp.getSrcNode();
                 if (deletedElement instanceof CtFieldRead) {
                     final CtFieldRead fieldRead = (CtFieldRead) deletedElement;
-                    return new DelFieldRead(fieldRead);
+                    return delFieldRead.enter(fieldRead);
                 } else if (deletedElement instanceof CtFieldWrite) {
                     final CtFieldWrite fieldWrite = (CtFieldWrite) deletedElement;
-                    return new DelFieldWrite(fieldWrite);
+                    return delFieldWrite.enter(fieldWrite);
                 } else if (deletedElement instanceof CtVariableRead) {
                     final CtVariableRead variableRead = (CtVariableRead) deletedElement;
-                    return new DelVarRead(variableRead);
+                    return delVarRead.enter(variableRead);
                 } else if (deletedElement instanceof CtVariableWrite) {
                     final CtVariableWrite variableWrite = (CtVariableWrite) deletedElement;
-                    return new DelVarWrite(variableWrite);
+                    return delVarWrite.enter(variableWrite);
                 }
             }
             return initState;
         }
     }
 
-    private class DelVarWrite implements State {
-        private final CtVariableWrite deletedVarWrite;
+    private class DelVarWrite implements PairingState {
+        private CtVariableWrite deletedVarWrite;
 
-        public DelVarWrite(final CtVariableWrite deletedVarWrite) {
+        DelVarWrite enter(final CtVariableWrite deletedVarWrite) {
             this.deletedVarWrite = deletedVarWrite;
+            return this;
+        }
+
+        @Override
+        public Class<? extends CtElement> getInsertedType() {
+            return CtFieldWrite.class;
         }
 
         @Override
@@ -59,7 +82,7 @@ public class FieldLocalReplacementHandler extends RegExpHandler {
                         final String deletedVarName = this.deletedVarWrite
                                 .getVariable()
                                 .getSimpleName();
-                        return new InsFieldWrite(deletedVarName, fieldName);
+                        return insFieldWrite.enter(deletedVarName, fieldName);
                     }
                 }
             }
@@ -68,12 +91,13 @@ public class FieldLocalReplacementHandler extends RegExpHandler {
     }
 
     private class InsFieldWrite implements AcceptanceState {
-        private final String deletedVarName;
-        private final String insertedFieldName;
+        private String deletedVarName;
+        private String insertedFieldName;
 
-        public InsFieldWrite(String deletedVarName, String insertedFieldName) {
+        InsFieldWrite enter(String deletedVarName, String insertedFieldName) {
             this.deletedVarName = deletedVarName;
             this.insertedFieldName = insertedFieldName;
+            return this;
         }
 
         @Override
@@ -87,11 +111,17 @@ public class FieldLocalReplacementHandler extends RegExpHandler {
         }
     }
 
-    private class DelVarRead implements State {
-        private final CtVariableRead deletedVarRead;
+    private class DelVarRead implements PairingState {
+        private CtVariableRead deletedVarRead;
 
-        public DelVarRead(final CtVariableRead deletedVarRead) {
+        DelVarRead enter(final CtVariableRead deletedVarRead) {
             this.deletedVarRead = deletedVarRead;
+            return this;
+        }
+
+        @Override
+        public Class<? extends CtElement> getInsertedType() {
+            return CtFieldRead.class;
         }
 
         @Override
@@ -107,7 +137,7 @@ public class FieldLocalReplacementHandler extends RegExpHandler {
                         final String deletedVarName = this.deletedVarRead
                                 .getVariable()
                                 .getSimpleName();
-                        return new InsFieldRead(deletedVarName, fieldName);
+                        return insFieldRead.enter(deletedVarName, fieldName);
                     }
                 }
             }
@@ -116,12 +146,13 @@ public class FieldLocalReplacementHandler extends RegExpHandler {
     }
 
     private class InsFieldRead implements AcceptanceState {
-        private final String deletedVarName;
-        private final String insertedFieldName;
+        private String deletedVarName;
+        private String insertedFieldName;
 
-        public InsFieldRead(String deletedVarName, String insertedFieldName) {
+        InsFieldRead enter(String deletedVarName, String insertedFieldName) {
             this.deletedVarName = deletedVarName;
             this.insertedFieldName = insertedFieldName;
+            return this;
         }
 
         @Override
@@ -135,11 +166,17 @@ public class FieldLocalReplacementHandler extends RegExpHandler {
         }
     }
 
-    private class DelFieldRead implements State {
-        private final CtFieldRead deletedFieldRead;
+    private class DelFieldRead implements PairingState {
+        private CtFieldRead deletedFieldRead;
 
-        public DelFieldRead(final CtFieldRead deletedFieldRead) {
+        DelFieldRead enter(final CtFieldRead deletedFieldRead) {
             this.deletedFieldRead = deletedFieldRead;
+            return this;
+        }
+
+        @Override
+        public Class<? extends CtElement> getInsertedType() {
+            return CtVariableRead.class;
         }
 
         @Override
@@ -155,7 +192,7 @@ public class FieldLocalReplacementHandler extends RegExpHandler {
                         final String deletedFieldName = this.deletedFieldRead
                                 .getVariable()
                                 .getSimpleName();
-                        return new InsLocalRead(deletedFieldName, varName);
+                        return insLocalRead.enter(deletedFieldName, varName);
                     }
                 }
             }
@@ -164,12 +201,13 @@ public class FieldLocalReplacementHandler extends RegExpHandler {
     }
 
     private class InsLocalRead implements AcceptanceState {
-        private final String deletedFieldName;
-        private final String insertedLocalName;
+        private String deletedFieldName;
+        private String insertedLocalName;
 
-        public InsLocalRead(String deletedFieldName, String insertedLocalName) {
+        InsLocalRead enter(String deletedFieldName, String insertedLocalName) {
             this.deletedFieldName = deletedFieldName;
             this.insertedLocalName = insertedLocalName;
+            return this;
         }
 
         @Override
@@ -184,11 +222,17 @@ public class FieldLocalReplacementHandler extends RegExpHandler {
         }
     }
 
-    private class DelFieldWrite implements State {
-        private final CtFieldWrite deletedFieldWrite;
+    private class DelFieldWrite implements PairingState {
+        private CtFieldWrite deletedFieldWrite;
 
-        public DelFieldWrite(final CtFieldWrite deletedFieldWrite) {
+        DelFieldWrite enter(final CtFieldWrite deletedFieldWrite) {
             this.deletedFieldWrite = deletedFieldWrite;
+            return this;
+        }
+
+        @Override
+        public Class<? extends CtElement> getInsertedType() {
+            return CtVariableWrite.class;
         }
 
         @Override
@@ -205,7 +249,7 @@ public class FieldLocalReplacementHandler extends RegExpHandler {
                         final String deletedFieldName = this.deletedFieldWrite
                                 .getVariable()
                                 .getSimpleName();
-                        return new InsLocalWrite(deletedFieldName, varName);
+                        return insLocalWrite.enter(deletedFieldName, varName);
                     }
                 }
             }
@@ -214,12 +258,13 @@ public class FieldLocalReplacementHandler extends RegExpHandler {
     }
 
     private class InsLocalWrite implements AcceptanceState {
-        private final String deletedFieldName;
-        private final String insertedLocalName;
+        private String deletedFieldName;
+        private String insertedLocalName;
 
-        public InsLocalWrite(String deletedFieldName, String insertedLocalName) {
+        InsLocalWrite enter(String deletedFieldName, String insertedLocalName) {
             this.deletedFieldName = deletedFieldName;
             this.insertedLocalName = insertedLocalName;
+            return this;
         }
 
         @Override
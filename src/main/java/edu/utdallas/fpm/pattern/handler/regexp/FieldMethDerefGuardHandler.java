@@ -17,8 +17,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class FieldMethDerefGuardHandler extends RegExpHandler {
+    private final InsCondState insCondState;
+    private final IMState imState;
+
     public FieldMethDerefGuardHandler() {
         initState = new InitState();
+        this.insCondState = new InsCondState();
+        this.imState = new IMState();
         this.state = initState;
         this.consumed = 0;
     }
@@ -36,7 +41,7 @@ public class FieldMethDerefGuardHandler extends RegExpHandler {
                     final List<EitherFieldOrMethod> guardedDerefs =
                             getGuardedDerefs(guardExp, thenExp, elseExp);
                     if (!guardedDerefs.isEmpty()) {
-                        return new InsCondState(guardedDerefs);
+                        return insCondState.enter(guardedDerefs);
                     }
                 }
             }
@@ -88,10 +93,11 @@ public class FieldMethDerefGuardHandler extends RegExpHandler {
     }
 
     private class InsCondState implements State {
-        private final List<EitherFieldOrMethod> guardedAccesses;
+        private List<EitherFieldOrMethod> guardedAccesses;
 
-        public InsCondState(List<EitherFieldOrMethod> guardedAccesses) {
+        InsCondState enter(List<EitherFieldOrMethod> guardedAccesses) {
             this.guardedAccesses = guardedAccesses;
+            return this;
         }
 
         private FieldAccess get(final CtFieldAccess fieldAccess) {
@@ -127,7 +133,7 @@ public class FieldMethDerefGuardHandler extends RegExpHandler {
                     eitherFieldOrMethod = get((CtInvocation) movedElement);
                 }
                 if (eitherFieldOrMethod != null) {
-                    return new IMState(eitherFieldOrMethod);
+                    return imState.enter(eitherFieldOrMethod);
                 }
             }
             return initState;
@@ -135,10 +141,11 @@ public class FieldMethDerefGuardHandler extends RegExpHandler {
     }
 
     private class IMState implements AcceptanceState {
-        private final EitherFieldOrMethod eitherFieldOrMethod;
+        private EitherFieldOrMethod eitherFieldOrMethod;
 
-        public IMState(EitherFieldOrMethod eitherFieldOrMethod) {
+        IMState enter(EitherFieldOrMethod eitherFieldOrMethod) {
             this.eitherFieldOrMethod = eitherFieldOrMethod;
+            return this;
         }
 
         @Override
@@ -12,8 +12,25 @@ import spoon.reflect.declaration.CtElement;
  * warning: this handler might lead to orphan "move" operations
  */
 public class FunctionOperatorReplacementHandler extends RegExpHandler {
+    private final DelUnaryInvState delUnaryInvState;
+    private final DelBinaryInvState delBinaryInvState;
+    private final InsBinOpState insBinOpState;
+    private final InsUnaryOpState insUnaryOpState;
+    private final DelUnaryOpState delUnaryOpState;
+    private final DelBinaryOpState delBinaryOpState;
+    private final InsBiFunctionState insBiFunctionState;
+    private final InsUnaryFunctionState insUnaryFunctionState;
+
     public FunctionOperatorReplacementHandler() {
         initState = new InitState();
+        this.delUnaryInvState = new DelUnaryInvState();
+        this.delBinaryInvState = new DelBinaryInvState();
+        this.insBinOpState = new InsBinOpState();
+        this.insUnaryOpState = new InsUnaryOpState();
+        this.delUnaryOpState = new DelUnaryOpState();
+        this.delBinaryOpState = new DelBinaryOpState();
+        this.insBiFunctionState = new InsBiFunctionState();
+        this.insUnaryFunctionState = new InsUnaryFunctionState();
         this.state = initState;
         this.consumed = 0;
     }
@@ -28,27 +45,33 @@ public class FunctionOperatorReplacementHandler extends RegExpHandler {
                     final CtInvocation invocation = (CtInvocation) deletedElement;
                     final int arity = invocation.getArguments().size();
                     if (arity == 1) {
-                        return new DelUnaryInvState(invocation);
+                        return delUnaryInvState.enter(invocation);
                     } else if (arity == 2) {
-                        return new DelBinaryInvState(invocation);
+                        return delBinaryInvState.enter(invocation);
                     }
                 } else if ((deletedElement instanceof CtBinaryOperator)) {
                     final CtBinaryOperator binOp = (CtBinaryOperator) deletedElement;
-                    return new DelBinaryOpState(binOp);
+                    return delBinaryOpState.enter(binOp);
                 } else if (deletedElement instanceof CtUnaryOperator) {
                     final CtUnaryOperator unaryOp = (CtUnaryOperator) deletedElement;
-                    return new DelUnaryOpState(unaryOp);
+                    return delUnaryOpState.enter(unaryOp);
                 }
             }
             return initState;
         }
     }
 
-    private class DelUnaryInvState implements State {
-        private final CtInvocation deletedMethodInv;
+    private class DelUnaryInvState implements PairingState {
+        private CtInvocation deletedMethodInv;
 
-        public DelUnaryInvState(final CtInvocation deletedMethodInv) {
+        DelUnaryInvState enter(final CtInvocation deletedMethodInv) {
             this.deletedMethodInv = deletedMethodInv;
+            return this;
+        }
+
+        @Override
+        public Class<? extends CtElement> getInsertedType() {
+            return CtUnaryOperator.class;
         }
 
         @Override
@@ -64,7 +87,7 @@ public class FunctionOperatorReplacementHandler extends RegExpHandler {
                         final String deletedMethodName = this.deletedMethodInv
                                 .getExecutable()
                                 .getSimpleName();
-                        return new InsUnaryOpState(deletedMethodName, kind);
+                        return insUnaryOpState.enter(deletedMethodName, kind);
                     }
                 }
             }
@@ -72,11 +95,17 @@ public class FunctionOperatorReplacementHandler extends RegExpHandler {
         }
     }
 
-    private class DelBinaryInvState implements State {
-        private final CtInvocation deletedMethodInv;
+    private class DelBinaryInvState implements PairingState {
+        private CtInvocation deletedMethodInv;
 
-        public DelBinaryInvState(final CtInvocation deletedMethodInv) {
+        DelBinaryInvState enter(final CtInvocation deletedMethodInv) {
             this.deletedMethodInv = deletedMethodInv;
+            return this;
+        }
+
+        @Override
+        public Class<? extends CtElement> getInsertedType() {
+            return CtBinaryOperator.class;
         }
 
         @Override
@@ -92,7 +121,7 @@ public class FunctionOperatorReplacementHandler extends RegExpHandler {
                         final String deletedMethodName = this.deletedMethodInv
                                 .getExecutable()
                                 .getSimpleName();
-                        return new InsBinOpState(deletedMethodName, kind);
+                        return insBinOpState.enter(deletedMethodName, kind);
                     }
                 }
             }
@@ -101,12 +130,13 @@ public class FunctionOperatorReplacementHandler extends RegExpHandler {
     }
 
     private class InsBinOpState implements AcceptanceState {
-        private final String deletedMethodName;
-        private final BinaryOperatorKind binOpKind;
+        private String deletedMethodName;
+        private BinaryOperatorKind binOpKind;
 
-        public InsBinOpState(String deletedMethodName, BinaryOperatorKind binOpKind) {
+        InsBinOpState enter(String deletedMethodName, BinaryOperatorKind binOpKind) {
             this.deletedMethodName = deletedMethodName;
             this.binOpKind = binOpKind;
+            return this;
         }
 
         @Override
@@ -121,12 +151,13 @@ public class FunctionOperatorReplacementHandler extends RegExpHandler {
     }
 
     private class InsUnaryOpState implements AcceptanceState {
-        private final String deletedMethodName;
-        private final UnaryOperatorKind unaryOpKind;
+        private String deletedMethodName;
+        private UnaryOperatorKind unaryOpKind;
 
-        public InsUnaryOpState(String deletedMethodName, UnaryOperatorKind unaryOpKind) {
+        InsUnaryOpState enter(String deletedMethodName, UnaryOperatorKind unaryOpKind) {
             this.deletedMethodName = deletedMethodName;
             this.unaryOpKind = unaryOpKind;
+            return this;
         }
 
         @Override
@@ -141,11 +172,17 @@ public class FunctionOperatorReplacementHandler extends RegExpHandler {
         }
     }
 
-    private class DelUnaryOpState implements State {
-        private final CtUnaryOperator deletedUnaryOp;
+    private class DelUnaryOpState implements PairingState {
+        private CtUnaryOperator deletedUnaryOp;
 
-        public DelUnaryOpState(final CtUnaryOperator deletedUnaryOp) {
+        DelUnaryOpState enter(final CtUnaryOperator deletedUnaryOp) {
             this.deletedUnaryOp = deletedUnaryOp;
+            return this;
+        }
+
+        @Override
+        public Class<? extends CtElement> getInsertedType() {
+            return CtInvocation.class;
         }
 
         @Override
@@ -161,7 +198,7 @@ public class FunctionOperatorReplacementHandler extends RegExpHandler {
                         final int arity = invocation.getArguments().size();
                         if (arity == 1) {
                             final UnaryOperatorKind deletedOpKind = deletedUnaryOp.getKind();
-                            return new InsUnaryFunctionState(deletedOpKind, methodName);
+                            return insUnaryFunctionState.enter(deletedOpKind, methodName);
                         }
                     }
                 }
@@ -170,11 +207,17 @@ public class FunctionOperatorReplacementHandler extends RegExpHandler {
         }
     }
 
-    private class DelBinaryOpState implements State {
-        private final CtBinaryOperator deletedBinOp;
+    private class DelBinaryOpState implements PairingState {
+        private CtBinaryOperator deletedBinOp;
 
-        public DelBinaryOpState(final CtBinaryOperator deletedBinOp) {
+        DelBinaryOpState enter(final CtBinaryOperator deletedBinOp) {
             this.deletedBinOp = deletedBinOp;
+            return this;
+        }
+
+        @Override
+        public Class<? extends CtElement> getInsertedType() {
+            return CtInvocation.class;
         }
 
         @Override
@@ -190,7 +233,7 @@ public class FunctionOperatorReplacementHandler extends RegExpHandler {
                         final int arity = invocation.getArguments().size();
                         if (arity == 2) {
                             final BinaryOperatorKind deletedOpKind = deletedBinOp.getKind();
-                            return new InsBiFunctionState(deletedOpKind, methodName);
+                            return insBiFunctionState.enter(deletedOpKind, methodName);
                         }
                     }
                 }
@@ -200,13 +243,14 @@ public class FunctionOperatorReplacementHandler extends RegExpHandler {
     }
 
     private class InsBiFunctionState implements AcceptanceState {
-        private final BinaryOperatorKind deletedOpKind;
-        private final String insertedMethodName;
+        private BinaryOperatorKind deletedOpKind;
+        private String insertedMethodName;
 
-        InsBiFunctionState(final BinaryOperatorKind deletedOpKind,
+        InsBiFunctionState enter(final BinaryOperatorKind deletedOpKind,
                            final String insertedMethodName) {
             this.deletedOpKind = deletedOpKind;
             this.insertedMethodName = insertedMethodName;
+            return this;
         }
 
         @Override
@@ -222,13 +266,14 @@ public class FunctionOperatorReplacementHandler extends RegExpHandler {
     }
 
     private class InsUnaryFunctionState implements AcceptanceState {
-        private final UnaryOperatorKind deletedOpKind;
-        private final String insertedMethodName;
+        private UnaryOperatorKind deletedOpKind;
+        private String insertedMethodName;
 
-        public InsUnaryFunctionState(final UnaryOperatorKind deletedOpKind,
+        InsUnaryFunctionState enter(final UnaryOperatorKind deletedOpKind,
                                      final String insertedMethodName) {
             this.deletedOpKind = deletedOpKind;
             this.insertedMethodName = insertedMethodName;
+            return this;
         }
 
         @Override
@@ -15,12 +15,16 @@ import spoon.reflect.declaration.CtElement;
 import java.util.*;
 
 public class IfShortCircuitHandler extends RegExpHandler {
+    private final DelIfState delIfState;
+    private final DelBranchState delBranchState;
     private final AcceptanceState thenRemovedState;
     private final AcceptanceState elseRemovedState;
     private final AcceptanceState ifRemovedState;
 
     public IfShortCircuitHandler() {
         this.initState = new InitState();
+        this.delIfState = new DelIfState();
+        this.delBranchState = new DelBranchState();
         this.thenRemovedState = new ThenRemovedState();
         this.elseRemovedState = new ElseRemovedState();
         this.ifRemovedState = new IfRemovedState();
@@ -39,18 +43,18 @@ public class IfShortCircuitHandler extends RegExpHandler {
                     final CtBlock thenBlock = ifSt.getThenStatement();
                     final CtBlock elseBlock = ifSt.getElseStatement();
                     if (thenBlock == null && elseBlock == null) { // if(*);
-                        return new IfRemovedState();
+                        return ifRemovedState;
                     }
                     final List<CtStatement> thenBlockList =
                             thenBlock == null ? null : thenBlock.getStatements();
                     final List<CtStatement> elseBlockList =
                             elseBlock == null ? null : elseBlock.getStatements();
                     if (thenBlockList == null || elseBlock == null) {
-                        return new DelIfState(
+                        return delIfState.enter(
                                 thenBlockList == null ? elseBlockList : thenBlockList
                         );
                     }
-                    return new DelBranchState(thenBlockList, elseBlockList);
+                    return delBranchState.enter(thenBlockList, elseBlockList);
                 }
             }
             return this;
@@ -80,10 +84,11 @@ public class IfShortCircuitHandler extends RegExpHandler {
     private class DelIfState extends DelState {
         private Iterator<CtStatement> blockIt;
 
-        public DelIfState(final List<CtStatement> block) {
+        DelIfState enter(final List<CtStatement> block) {
             this.blockIt = block.stream()
                     .sorted(Comparator.comparingInt(s -> s.getPosition().getSourceStart()))
                     .iterator();
+            return this;
         }
 
         @Override
@@ -107,13 +112,14 @@ public class IfShortCircuitHandler extends RegExpHandler {
         private Iterator<CtStatement> thenIt;
         private Iterator<CtStatement> elseIt;
 
-        public DelBranchState(final List<CtStatement> thenBlock, final List<CtStatement> elseBlock) {
+        DelBranchState enter(final List<CtStatement> thenBlock, final List<CtStatement> elseBlock) {
             this.thenIt = thenBlock.stream()
                     .sorted(Comparator.comparingInt(s -> s.getPosition().getSourceStart()))
                     .iterator();
             this.elseIt = elseBlock.stream()
                     .sorted(Comparator.comparingInt(s -> s.getPosition().getSourceStart()))
                     .iterator();
+            return this;
         }
 
         @Override
@@ -17,8 +17,13 @@ import spoon.reflect.declaration.CtElement;
 // is DIM, where D deletes (l.id(l).field)++, I inserts l.id(l).field,
 // and M moved l.id(l)
 public class IncDecRemovalHandler extends RegExpHandler {
+    private final DeletedIncDecState deletedIncDecState;
+    private final DIState diState;
+
     public IncDecRemovalHandler() {
         initState = new InitState();
+        this.deletedIncDecState = new DeletedIncDecState();
+        this.diState = new DIState();
         this.state = initState;
         this.consumed = 0;
     }
@@ -34,7 +39,7 @@ public class IncDecRemovalHandler extends RegExpHandler {
                 if (deletedElement instanceof CtUnaryOperator) {
                     final CtUnaryOperator deletedUnOp = (CtUnaryOperator) deletedElement;
                     if (isIncDec(deletedUnOp)) {
-                        return new DeletedIncDecState(deletedUnOp);
+                        return deletedIncDecState.enter(deletedUnOp);
                     }
                 }
             }
@@ -51,10 +56,11 @@ public class IncDecRemovalHandler extends RegExpHandler {
     }
 
     private class DeletedIncDecState implements State {
-        private final CtUnaryOperator deletedUnOp;
+        private CtUnaryOperator deletedUnOp;
 
-        public DeletedIncDecState(CtUnaryOperator deletedUnOp) {
+        DeletedIncDecState enter(CtUnaryOperator deletedUnOp) {
             this.deletedUnOp = deletedUnOp;
+            return this;
         }
 
         @Override
@@ -65,7 +71,7 @@ public class IncDecRemovalHandler extends RegExpHandler {
                     final CtExpression insertedExpr = (CtExpression) insertedElement;
                     if (Util.textEquals(insertedExpr, this.deletedUnOp.getOperand())) {
                         final UnaryOperatorKind kind = this.deletedUnOp.getKind();
-                        return new DIState(kind);
+                        return diState.enter(kind);
                     }
                 }
             }
@@ -74,10 +80,11 @@ public class IncDecRemovalHandler extends RegExpHandler {
     }
 
     private class DIState implements AcceptanceState {
-        private final UnaryOperatorKind kind;
+        private UnaryOperatorKind kind;
 
-        public DIState(UnaryOperatorKind kind) {
+        DIState enter(UnaryOperatorKind kind) {
             this.kind = kind;
+            return this;
         }
 
         @Override
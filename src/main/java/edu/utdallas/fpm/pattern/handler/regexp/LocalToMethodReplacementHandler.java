@@ -10,11 +10,20 @@ import spoon.reflect.code.CtVariableRead;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.reference.CtVariableReference;
 
-import java.util.Objects;
-
 public class LocalToMethodReplacementHandler extends RegExpHandler {
+    private final InsInvState insInvState;
+    private final U_IMState uimState;
+    private final UpdLocalState updLocalState;
+    private final DelLocalState delLocalState;
+    private final DIState diState;
+
     public LocalToMethodReplacementHandler() {
         initState = new InitState();
+        this.insInvState = new InsInvState();
+        this.uimState = new U_IMState();
+        this.updLocalState = new UpdLocalState();
+        this.delLocalState = new DelLocalState();
+        this.diState = new DIState();
         this.state = initState;
         this.consumed = 0;
     }
@@ -34,7 +43,7 @@ public class LocalToMethodReplacementHandler extends RegExpHandler {
                 final CtElement insertedElement = insOp.getSrcNode();
                 if (insertedElement instanceof CtInvocation) {
                     final CtInvocation insertedInvocation = (CtInvocation) insertedElement;
-                    return new InsInvState(insertedInvocation);
+                    return insInvState.enter(insertedInvocation);
                 }
             } else if (operation instanceof UpdateOperation) {
                 final UpdateOperation updOp = (UpdateOperation) operation;
@@ -42,7 +51,7 @@ public class LocalToMethodReplacementHandler extends RegExpHandler {
                 final CtElement dstElement = updOp.getDstNode();
                 if (srcElement instanceof CtVariableRead && dstElement instanceof CtVariableRead) {
                     final CtVariableRead srcLocal = (CtVariableRead) srcElement;
-                    return new UpdLocalState(srcLocal);
+                    return updLocalState.enter(srcLocal);
                 }
             } else if (operation instanceof DeleteOperation) {
                 final DeleteOperation delOp = (DeleteOperation) operation;
@@ -50,7 +59,7 @@ public class LocalToMethodReplacementHandler extends RegExpHandler {
                 if (deletedElement instanceof CtVariableRead
                         && !(deletedElement instanceof CtFieldAccess)) {
                     final CtVariableRead deletedVarRead = (CtVariableRead) deletedElement;
-                    return new DelLocalState(deletedVarRead);
+                    return delLocalState.enter(deletedVarRead);
                 }
             }
             return initState;
@@ -58,10 +67,11 @@ public class LocalToMethodReplacementHandler extends RegExpHandler {
     }
 
     private class InsInvState implements State {
-        private final CtInvocation insertedInvocation;
+        private CtInvocation insertedInvocation;
 
-        public InsInvState(CtInvocation insertedInvocation) {
+        InsInvState enter(CtInvocation insertedInvocation) {
             this.insertedInvocation = insertedInvocation;
+            return this;
         }
 
         @Override
@@ -72,13 +82,13 @@ public class LocalToMethodReplacementHandler extends RegExpHandler {
                 if (movedElement instanceof CtVariableRead) {
                     final CtVariableReference movedVariable =
                             ((CtVariableRead) movedElement).getVariable();
-                    if (Objects.equals(this.insertedInvocation.getType(),
+                    if (Util.equalsElement(this.insertedInvocation.getType(),
                             movedVariable.getType())) {
                         final String movedLocalName = movedVariable.getSimpleName();
                         final String calleeName = this.insertedInvocation
                                 .getExecutable()
                                 .getSimpleName();
-                        return new U_IMState(movedLocalName, calleeName);
+                        return uimState.enter(movedLocalName, calleeName);
                     }
                 }
             }
@@ -87,12 +97,13 @@ public class LocalToMethodReplacementHandler extends RegExpHandler {
     }
 
     private class U_IMState implements AcceptanceState {
-        private final String localName;
-        private final String calleeName;
+        private String localName;
+        private String calleeName;
 
-        public U_IMState(String localName, String calleeName) {
+        U_IMState enter(String localName, String calleeName) {
             this.localName = localName;
             this.calleeName = calleeName;
+            return this;
         }
 
         @Override
@@ -107,10 +118,11 @@ public class LocalToMethodReplacementHandler extends RegExpHandler {
     }
 
     private class UpdLocalState implements State {
-        private final CtVariableRead srcLocal;
+        private CtVariableRead srcLocal;
 
-        public UpdLocalState(CtVariableRead srcLocal) {
+        UpdLocalState enter(CtVariableRead srcLocal) {
             this.srcLocal = srcLocal;
+            return this;
         }
 
         @Override
@@ -120,10 +132,10 @@ public class LocalToMethodReplacementHandler extends RegExpHandler {
                 final CtElement insertedElement = insOp.getSrcNode();
                 if (insertedElement instanceof CtInvocation) {
                     final CtInvocation insertedInvocation = (CtInvocation) insertedElement;
-                    if (Objects.equals(this.srcLocal.getType(),
+                    if (Util.equalsElement(this.srcLocal.getType(),
                             insertedInvocation.getType())) {
                         if (Util.sibling(this.srcLocal, insertedInvocation)) {
-                            return new InsInvState(insertedInvocation);
+                            return insInvState.enter(insertedInvocation);
                         }
                     }
                 }
@@ -133,10 +145,11 @@ public class LocalToMethodReplacementHandler extends RegExpHandler {
     }
 
     private class DelLocalState implements State {
-        private final CtVariableRead deletedVarRead;
+        private CtVariableRead deletedVarRead;
 
-        public DelLocalState(final CtVariableRead deletedVarRead) {
+        DelLocalState enter(final CtVariableRead deletedVarRead) {
             this.deletedVarRead = deletedVarRead;
+            return this;
         }
 
         @Override
@@ -147,14 +160,14 @@ public class LocalToMethodReplacementHandler extends RegExpHandler {
                 if (insertedElement instanceof CtInvocation) {
                     final CtInvocation insertedInvocation =
                             (CtInvocation) insertedElement;
-                    if (Objects.equals(insertedInvocation.getType(),
+                    if (Util.equalsElement(insertedInvocation.getType(),
                             this.deletedVarRead.getType())) {
                         if (Util.sibling(this.deletedVarRead, insertedInvocation)) {
                             final String calleeName = insertedInvocation.getExecutable()
                                     .getSimpleName();
                             final String deletedLocalName = deletedVarRead.getVariable()
                                     .getSimpleName();
-                            return new DIState(deletedLocalName, calleeName);
+                            return diState.enter(deletedLocalName, calleeName);
                         }
                     }
                 }
@@ -164,12 +177,13 @@ public class LocalToMethodReplacementHandler extends RegExpHandler {
     }
 
     private class DIState implements AcceptanceState {
-        private final String localName;
-        private final String calleeName;
+        private String localName;
+        private String calleeName;
 
-        public DIState(String localName, String calleeName) {
+        DIState enter(String localName, String calleeName) {
             this.localName = localName;
             this.calleeName = calleeName;
+            return this;
         }
 
         @Override
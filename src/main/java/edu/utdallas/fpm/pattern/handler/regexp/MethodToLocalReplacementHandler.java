@@ -10,8 +10,19 @@ import spoon.reflect.declaration.CtElement;
 import spoon.reflect.reference.CtVariableReference;
 
 public class MethodToLocalReplacementHandler extends RegExpHandler {
+    private final UpdLocalState updLocalState;
+    private final UpdLocalDelInvState updLocalDelInvState;
+    private final UDMState udmState;
+    private final DelInvState delInvState;
+    private final DIState diState;
+
     public MethodToLocalReplacementHandler() {
         initState = new InitState();
+        this.updLocalState = new UpdLocalState();
+        this.updLocalDelInvState = new UpdLocalDelInvState();
+        this.udmState = new UDMState();
+        this.delInvState = new DelInvState();
+        this.diState = new DIState();
         this.state = initState;
         this.consumed = 0;
     }
@@ -30,14 +41,14 @@ public class MethodToLocalReplacementHandler extends RegExpHandler {
                 final CtElement srcElement = updOp.getSrcNode();
                 final CtElement dstElement = updOp.getDstNode();
                 if (srcElement instanceof CtVariableRead && dstElement instanceof CtVariableRead) {
-                    return new UpdLocalState();
+                    return updLocalState;
                 }
             } else if (operation instanceof DeleteOperation) {
                 final DeleteOperation delOp = (DeleteOperation) operation;
                 final CtElement deletedElement = delOp.getSrcNode();
                 if (deletedElement instanceof CtInvocation) {
                     final CtInvocation deletedInvocation = (CtInvocation) deletedElement;
-                    return new DelInvState(deletedInvocation);
+                    return delInvState.enter(deletedInvocation);
                 }
             }
             return initState;
@@ -53,7 +64,7 @@ public class MethodToLocalReplacementHandler extends RegExpHandler {
                 if (deletedElement instanceof CtInvocation) {
                     final CtInvocation deletedInvocation = (CtInvocation) deletedElement;
                     final String deletedMethodName = deletedInvocation.getExecutable().getSimpleName();
-                    return new UpdLocalDelInvState(deletedMethodName);
+                    return updLocalDelInvState.enter(deletedMethodName);
                 }
             }
             return initState;
@@ -61,10 +72,11 @@ public class MethodToLocalReplacementHandler extends RegExpHandler {
     }
 
     private class UpdLocalDelInvState implements State {
-        private final String deletedMethodName;
+        private String deletedMethodName;
 
-        public UpdLocalDelInvState(String deletedMethodName) {
+        UpdLocalDelInvState enter(String deletedMethodName) {
             this.deletedMethodName = deletedMethodName;
+            return this;
         }
 
         @Override
@@ -76,7 +88,7 @@ public class MethodToLocalReplacementHandler extends RegExpHandler {
                         && !(movedElement instanceof CtFieldAccess)) {
                     final CtVariableReference movedLocal = ((CtVariableRead) movedElement).getVariable();
                     final String localName = movedLocal.getSimpleName();
-                    return new UDMState(this.deletedMethodName, localName);
+                    return udmState.enter(this.deletedMethodName, localName);
                 }
             }
             return initState;
@@ -84,12 +96,13 @@ public class MethodToLocalReplacementHandler extends RegExpHandler {
     }
 
     private class UDMState implements AcceptanceState {
-        private final String methodName;
-        private final String localName;
+        private String methodName;
+        private String localName;
 
-        public UDMState(String methodName, String localName) {
+        UDMState enter(String methodName, String localName) {
             this.methodName = methodName;
             this.localName = localName;
+            return this;
         }
 
         @Override
@@ -104,10 +117,11 @@ public class MethodToLocalReplacementHandler extends RegExpHandler {
     }
 
     private class DelInvState implements State {
-        private final String deletedMethodName;
+        private String deletedMethodName;
 
-        public DelInvState(final CtInvocation deletedInv) {
+        DelInvState enter(final CtInvocation deletedInv) {
             this.deletedMethodName = deletedInv.getExecutable().getSimpleName();
+            return this;
         }
 
         @Override
@@ -120,7 +134,7 @@ public class MethodToLocalReplacementHandler extends RegExpHandler {
                     final CtVariableReference movedLocal =
                             ((CtVariableRead) insertedElement).getVariable();
                     final String localName = movedLocal.getSimpleName();
-                    return new DIState(this.deletedMethodName, localName);
+                    return diState.enter(this.deletedMethodName, localName);
                 }
             }
             return initState;
@@ -128,12 +142,13 @@ public class MethodToLocalReplacementHandler extends RegExpHandler {
     }
 
     private class DIState implements AcceptanceState {
-        private final String methodName;
-        private final String localName;
+        private String methodName;
+        private String localName;
 
-        public DIState(String methodName, String localName) {
+        DIState enter(String methodName, String localName) {
             this.methodName = methodName;
             this.localName = localName;
+            return this;
         }
 
         @Override
@@ -13,8 +13,15 @@ import spoon.reflect.declaration.CtElement;
 import spoon.reflect.reference.CtTypeReference;
 
 public class NegateConditionalHandler extends RegExpHandler {
+    private final DelInsBoolExpState delInsBoolExpState;
+    private final DM_IM_State dmimState;
+    private final DIState diState;
+
     public NegateConditionalHandler() {
         initState = new InitState();
+        this.delInsBoolExpState = new DelInsBoolExpState();
+        this.dmimState = new DM_IM_State();
+        this.diState = new DIState();
         this.state = initState;
         this.consumed = 0;
     }
@@ -39,14 +46,14 @@ public class NegateConditionalHandler extends RegExpHandler {
                         final UnaryOperatorKind opKind = deletedUnaryOp.getKind();
                         if (opKind == UnaryOperatorKind.NOT) {
                             final CtExpression negatedExp = deletedUnaryOp.getOperand();
-                            return new DelInsBoolExpState(parentElement, negatedExp);
+                            return delInsBoolExpState.enter(parentElement, negatedExp);
                         }
                     } else {
                         final CtTypeReference typeRef = deletedExp.getType();
                         if (typeRef != null) {
                             final String expTypeName = typeRef.getSimpleName();
                             if (isBoolean(expTypeName)) {
-                                return new DelInsBoolExpState(parentElement, deletedExp);
+                                return delInsBoolExpState.enter(parentElement, deletedExp);
                             }
                         }
                     }
@@ -60,7 +67,7 @@ public class NegateConditionalHandler extends RegExpHandler {
                     final UnaryOperatorKind unaryOpKind = insertedUnaryOp.getKind();
                     if (unaryOpKind == UnaryOperatorKind.NOT) {
                         final CtExpression negatedExp = insertedUnaryOp.getOperand();
-                        return new DelInsBoolExpState(parentElement, negatedExp);
+                        return delInsBoolExpState.enter(parentElement, negatedExp);
                     }
                 }
             }
@@ -73,12 +80,13 @@ public class NegateConditionalHandler extends RegExpHandler {
     }
 
     private class DelInsBoolExpState implements State {
-        private final CtElement parentElement;
-        private final CtExpression boolExp;
+        private CtElement parentElement;
+        private CtExpression boolExp;
 
-        public DelInsBoolExpState(CtElement parentElement, CtExpression boolExp) {
+        DelInsBoolExpState enter(CtElement parentElement, CtExpression boolExp) {
             this.parentElement = parentElement;
             this.boolExp = boolExp;
+            return this;
         }
 
         @Override
@@ -91,13 +99,13 @@ public class NegateConditionalHandler extends RegExpHandler {
                     final UnaryOperatorKind opKind = insertedUnaryOp.getKind();
                     if (opKind == UnaryOperatorKind.NOT) {
                         if (Util.textEquals(insertedUnaryOp.getOperand(), this.boolExp)) {
-                            return new DIState(this.parentElement);
+                            return diState.enter(this.parentElement);
                         }
                     }
                 } else if (insertedElement instanceof CtExpression) {
                     final CtExpression insertedExp = (CtExpression) insertedElement;
                     if (Util.textEquals(insertedExp, this.boolExp)) {
-                        return new DM_IM_State(this.parentElement);
+                        return dmimState.enter(this.parentElement);
                     }
                 }
             } else if (operation instanceof MoveOperation) {
@@ -105,7 +113,7 @@ public class NegateConditionalHandler extends RegExpHandler {
                 if (movedElement instanceof CtExpression) {
                     final CtExpression movedExp = (CtExpression) movedElement;
                     if (Util.textEquals(this.boolExp, movedExp)) {
-                        return new DM_IM_State(this.parentElement);
+                        return dmimState.enter(this.parentElement);
                     }
                 }
             }
@@ -114,22 +122,17 @@ public class NegateConditionalHandler extends RegExpHandler {
     }
 
     private class DM_IM_State extends NegateConditionalAcceptanceState {
-        public DM_IM_State(CtElement parentElement) {
-            super(parentElement);
-        }
     }
 
     private class DIState extends NegateConditionalAcceptanceState {
-        public DIState(CtElement parentElement) {
-            super(parentElement);
-        }
     }
 
     private abstract class NegateConditionalAcceptanceState implements AcceptanceState {
-        protected final CtElement parentElement;
+        protected CtElement parentElement;
 
-        public NegateConditionalAcceptanceState(CtElement parentElement) {
+        NegateConditionalAcceptanceState enter(CtElement parentElement) {
             this.parentElement = parentElement;
+            return this;
         }
 
         @Override
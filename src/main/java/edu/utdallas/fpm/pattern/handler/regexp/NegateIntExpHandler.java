@@ -14,11 +14,24 @@ import spoon.reflect.code.CtUnaryOperator;
 import spoon.reflect.code.UnaryOperatorKind;
 import spoon.reflect.declaration.CtElement;
 
-import java.util.Objects;
-
 public class NegateIntExpHandler extends RegExpHandler {
+    private final DelNegatedExprState delNegatedExprState;
+    private final DMState dmState;
+    private final InsNegatedExprState insNegatedExprState;
+    private final IMState imState;
+    private final DelExpState delExpState;
+    private final DIState diState;
+    private final ConstantReplacement constantReplacement;
+
     public NegateIntExpHandler() {
         initState = new InitState();
+        this.delNegatedExprState = new DelNegatedExprState();
+        this.dmState = new DMState();
+        this.insNegatedExprState = new InsNegatedExprState();
+        this.imState = new IMState();
+        this.delExpState = new DelExpState();
+        this.diState = new DIState();
+        this.constantReplacement = new ConstantReplacement();
         this.state = initState;
         this.consumed = 0;
     }
@@ -36,10 +49,10 @@ public class NegateIntExpHandler extends RegExpHandler {
                                 ((CtUnaryOperator) deletedExpression);
                         final UnaryOperatorKind kind = unaryOp.getKind();
                         if (kind == UnaryOperatorKind.NEG) {
-                            return new DelNegatedExprState(unaryOp);
+                            return delNegatedExprState.enter(unaryOp);
                         }
                     }
-                    return new DelExpState(deletedExpression);
+                    return delExpState.enter(deletedExpression);
                 }
             } else if (operation instanceof InsertOperation) {
                 final InsertOperation insOp = (InsertOperation) operation;
@@ -48,7 +61,7 @@ public class NegateIntExpHandler extends RegExpHandler {
                     final CtUnaryOperator unaryOp = (CtUnaryOperator) insertedElement;
                     if (unaryOp.getKind() == UnaryOperatorKind.NEG) {
                         final CtExpression insertedExpression = unaryOp.getOperand();
-                        return new InsNegatedExprState(insertedExpression);
+                        return insNegatedExprState.enter(insertedExpression);
                     }
                 }
             }
@@ -57,10 +70,11 @@ public class NegateIntExpHandler extends RegExpHandler {
     }
 
     private class DelNegatedExprState implements State {
-        private final CtExpression deletedOperand;
+        private CtExpression deletedOperand;
 
-        public DelNegatedExprState(CtUnaryOperator deletedUnaryOp) {
+        DelNegatedExprState enter(CtUnaryOperator deletedUnaryOp) {
             this.deletedOperand = deletedUnaryOp.getOperand();
+            return this;
         }
 
         @Override
@@ -70,8 +84,8 @@ public class NegateIntExpHandler extends RegExpHandler {
                 final CtElement movedElement = movOp.getSrcNode();
                 if (movedElement instanceof CtExpression) {
                     final CtExpression movedExpression = (CtExpression) movedElement;
-                    if (Objects.equals(movedExpression, this.deletedOperand)) {
-                        return new DMState();
+                    if (Util.equalsElement(movedExpression, this.deletedOperand)) {
+                        return dmState;
                     }
                 }
             } else if (operation instanceof InsertOperation) {
@@ -83,9 +97,9 @@ public class NegateIntExpHandler extends RegExpHandler {
                         if (insertedExpr instanceof CtLiteral) {
                             final CtLiteral insertedLiteral =
                                     ((CtLiteral) insertedExpr);
-                            return new ConstantReplacement(insertedLiteral);
+                            return constantReplacement.enter(insertedLiteral);
                         }
-                        return new DIState();
+                        return diState;
                     }
                 }
             }
@@ -106,10 +120,11 @@ public class NegateIntExpHandler extends RegExpHandler {
     }
 
     private class InsNegatedExprState implements State {
-        private final CtExpression insertedExpr;
+        private CtExpression insertedExpr;
 
-        public InsNegatedExprState(CtExpression insertedExpr) {
+        InsNegatedExprState enter(CtExpression insertedExpr) {
             this.insertedExpr = insertedExpr;
+            return this;
         }
 
         @Override
@@ -117,8 +132,8 @@ public class NegateIntExpHandler extends RegExpHandler {
             if (operation instanceof MoveOperation) {
                 final MoveOperation movOp = (MoveOperation) operation;
                 final CtElement movedElement = movOp.getSrcNode();
-                if (Objects.equals(movedElement, this.insertedExpr)) {
-                    return new IMState();
+                if (Util.equalsElement(movedElement, this.insertedExpr)) {
+                    return imState;
                 }
             }
             return initState;
@@ -138,10 +153,11 @@ public class NegateIntExpHandler extends RegExpHandler {
     }
 
     private class DelExpState implements State {
-        private final CtExpression deletedExpr;
+        private CtExpression deletedExpr;
 
-        public DelExpState(CtExpression deletedExpr) {
+        DelExpState enter(CtExpression deletedExpr) {
             this.deletedExpr = deletedExpr;
+            return this;
         }
 
         @Override
@@ -157,9 +173,9 @@ public class NegateIntExpHandler extends RegExpHandler {
                         if (Util.textEquals(operand, this.deletedExpr)) {
                             if (this.deletedExpr instanceof CtLiteral) {
                                 final CtLiteral deletedLiteral = (CtLiteral) this.deletedExpr;
-                                return new ConstantReplacement(deletedLiteral);
+                                return constantReplacement.enter(deletedLiteral);
                             }
-                            return new DIState();
+                            return diState;
                         }
                     }
                 }
@@ -181,10 +197,11 @@ public class NegateIntExpHandler extends RegExpHandler {
     }
 
     private class ConstantReplacement extends DIState {
-        private final CtLiteral literal;
+        private CtLiteral literal;
 
-        public ConstantReplacement(CtLiteral literal) {
+        ConstantReplacement enter(CtLiteral literal) {
             this.literal = literal;
+            return this;
         }
 
         @Override
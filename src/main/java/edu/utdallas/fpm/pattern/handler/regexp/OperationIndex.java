@@ -0,0 +1,145 @@
+package edu.utdallas.fpm.pattern.handler.regexp;
+
+import gumtree.spoon.diff.operations.*;
+import spoon.reflect.declaration.CtElement;
+
+import java.util.*;
+
+/* index of the operations of a single diff, bucketed by kind, by the place
+ * of their node, i.e. its parent node itself, and by the class of the node.
+ * a deleted node sits in its parent in the buggy AST, and GumTree names the
+ * parent of an insertion by its counterpart there, so an insertion that
+ * replaces a deleted node shares its place. operations that are consumed are
+ * tombstoned rather than removed, so that positions stay valid while the
+ * index is in use */
+final class OperationIndex {
+    private static final class Key {
+        private final Class<?> kind;
+        /* compared by identity */
+        private final CtElement place;
+        /* null in the keys of the node classes of a place */
+        private final Class<?> nodeClass;
+
+        Key(final Class<?> kind, final CtElement place, final Class<?> nodeClass) {
+            this.kind = kind;
+            this.place = place;
+            this.nodeClass = nodeClass;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return this.kind == that.kind && this.place == that.place && this.nodeClass == that.nodeClass;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * this.kind.hashCode() + System.identityHashCode(this.place))
+                    + Objects.hashCode(this.nodeClass);
+        }
+    }
+
+    private static Class<?> kindOf(final Operation operation) {
+        if (operation instanceof DeleteOperation) {
+            return DeleteOperation.class;
+        } else if (operation instanceof InsertOperation) {
+            return InsertOperation.class;
+        } else if (operation instanceof UpdateOperation) {
+            return UpdateOperation.class;
+        } else if (operation instanceof MoveOperation) {
+            return MoveOperation.class;
+        }
+        return operation.getClass();
+    }
+
+    private static CtElement placeOf(final Operation operation) {
+        if (operation instanceof InsertOperation) {
+            final CtElement parent = ((InsertOperation) operation).getParent();
+            if (parent != null) {
+                return parent;
+            }
+        }
+        final CtElement node = operation.getSrcNode();
+        if (node == null || !node.isParentInitialized()) {
+            return null;
+        }
+        return node.getParent();
+    }
+
+    private static Class<?> nodeClassOf(final Operation operation) {
+        final CtElement node = operation.getSrcNode();
+        return node == null ? null : node.getClass();
+    }
+
+    private final Operation[] ops;
+    private final Map<Key, List<Integer>> buckets;
+    /* kind and place --> classes of the nodes there */
+    private final Map<Key, List<Class<?>>> nodeClasses;
+    private final BitSet consumed;
+
+    OperationIndex(final List<Operation> ops) {
+        this.ops = ops.toArray(new Operation[0]);
+        this.buckets = new HashMap<>();
+        this.nodeClasses = new HashMap<>();
+        this.consumed = new BitSet(this.ops.length);
+        for (int i = 0; i < this.ops.length; i++) {
+            final Class<?> kind = kindOf(this.ops[i]);
+            final CtElement place = placeOf(this.ops[i]);
+            final Class<?> nodeClass = nodeClassOf(this.ops[i]);
+            final List<Integer> bucket = this.buckets.computeIfAbsent(new Key(kind, place, nodeClass),
+                    k -> new ArrayList<>());
+            if (bucket.isEmpty()) {
+                this.nodeClasses.computeIfAbsent(new Key(kind, place, null), k -> new ArrayList<>()).add(nodeClass);
+            }
+            bucket.add(i);
+        }
+    }
+
+    int size() {
+        return this.ops.length;
+    }
+
+    Operation get(final int position) {
+        return this.ops[position];
+    }
+
+    /* positions, in order, of the operations of the given kind whose node sits
+     * in the parent of the node of the given operation, before or after it, and
+     * is of the given type (any if null); some may be consumed */
+    List<Integer> lookup(final Class<? extends Operation> kind,
+                         final Operation like,
+                         final Class<? extends CtElement> nodeType) {
+        final CtElement place = placeOf(like);
+        final List<Integer> positions = new ArrayList<>();
+        for (final Class<?> nodeClass : this.nodeClasses.getOrDefault(new Key(kind, place, null),
+                Collections.emptyList())) {
+            if (nodeType == null || (nodeClass != null && nodeType.isAssignableFrom(nodeClass))) {
+                positions.addAll(this.buckets.get(new Key(kind, place, nodeClass)));
+            }
+        }
+        Collections.sort(positions);
+        return positions;
+    }
+
+    boolean isConsumed(final int position) {
+        return this.consumed.get(position);
+    }
+
+    void consume(final int position) {
+        this.consumed.set(position);
+    }
+
+    /* replaces the contents of ops with the operations that are not consumed */
+    void retainLive(final List<Operation> ops) {
+        ops.clear();
+        for (int i = this.consumed.nextClearBit(0); i < this.ops.length; i = this.consumed.nextClearBit(i + 1)) {
+            ops.add(this.ops[i]);
+        }
+    }
+}
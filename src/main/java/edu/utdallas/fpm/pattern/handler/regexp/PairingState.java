@@ -0,0 +1,9 @@
+package edu.utdallas.fpm.pattern.handler.regexp;
+
+import spoon.reflect.declaration.CtElement;
+
+/* a state that goes on only with the insertion of a certain type of node,
+ * which is used to look up insertions that are not adjacent */
+public interface PairingState extends State {
+    Class<? extends CtElement> getInsertedType();
+}
@@ -3,6 +3,7 @@ package edu.utdallas.fpm.pattern.handler.regexp;
 import gumtree.spoon.diff.operations.Operation;
 import edu.utdallas.fpm.pattern.rules.Rule;
 import edu.utdallas.fpm.pattern.rules.UnknownRule;
+import spoon.reflect.declaration.CtElement;
 
 public abstract class RegExpHandler {
     protected State initState;
@@ -34,6 +35,15 @@ public abstract class RegExpHandler {
         this.state = initState;
     }
 
+    /* the type of node that an insertion needs for the handler to go on; null
+     * if any would do */
+    public Class<? extends CtElement> getInsertedType() {
+        if (this.state instanceof PairingState) {
+            return ((PairingState) this.state).getInsertedType();
+        }
+        return null;
+    }
+
     public Rule getRule() {
         if (this.state instanceof AcceptanceState) {
             return ((AcceptanceState) this.state).getRule();
@@ -0,0 +1,165 @@
+package edu.utdallas.fpm.pattern.handler.regexp;
+
+import edu.utdallas.fpm.pattern.rules.Rule;
+import gumtree.spoon.diff.operations.DeleteOperation;
+import gumtree.spoon.diff.operations.InsertOperation;
+import gumtree.spoon.diff.operations.Operation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/* runs a cascade of regular expression handlers over the operations of a diff
+ * in a single pass. the outcome is the same as running the handlers one after
+ * the other, each over the operations left behind by the ones before it: an
+ * operation is handed down to the next handler as soon as the current handler
+ * is done with it. a handler is done with every operation that comes before
+ * one it has rejected from its initial state; initial states only look at the
+ * operation at hand, so such an operation can never be consumed, and the
+ * handler can never go back past it.
+ * the deletions and insertions left over are then offered, in pairs that need
+ * not be adjacent, to the handlers that match a deletion followed by an
+ * insertion; a deletion is only paired with insertions into its own parent,
+ * of the type of node the handler expects, which are looked up in an index
+ * of the leftovers */
+public final class RegExpMatcher {
+    private final Lane[] lanes;
+    private final RegExpHandler[] pairingHandlers;
+
+    public RegExpMatcher(final RegExpHandler[] handlers,
+                         final RegExpHandler[] pairingHandlers) {
+        this.lanes = new Lane[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            this.lanes[i] = new Lane(handlers[i]);
+        }
+        this.pairingHandlers = pairingHandlers;
+    }
+
+    /* ops is assumed sorted, and the operations consumed by the handlers are
+     * removed from it. rules are reported in the order of the handlers, and
+     * the ones of non-adjacent pairs come last */
+    public List<Rule> match(final List<Operation> ops) {
+        final List<Rule> rules = new ArrayList<>();
+        if (this.lanes.length > 0) {
+            final Operation[] input = ops.toArray(new Operation[0]);
+            ops.clear();
+            for (int i = 0; i < this.lanes.length; i++) {
+                this.lanes[i].reset(i + 1 < this.lanes.length ? this.lanes[i + 1].pending : ops);
+            }
+            for (final Operation operation : input) {
+                this.lanes[0].pending.addLast(operation);
+                for (final Lane lane : this.lanes) {
+                    lane.run();
+                }
+            }
+            for (final Lane lane : this.lanes) {
+                lane.finish();
+                rules.addAll(lane.rules);
+            }
+        }
+        if (this.pairingHandlers.length > 0 && !ops.isEmpty()) {
+            final OperationIndex index = new OperationIndex(ops);
+            for (final RegExpHandler handler : this.pairingHandlers) {
+                pair(handler, index, rules);
+            }
+            index.retainLive(ops);
+        }
+        return rules;
+    }
+
+    /* each deletion is paired with the first insertion into its parent, before
+     * or after it, that the handler accepts */
+    private static void pair(final RegExpHandler handler,
+                             final OperationIndex index,
+                             final List<Rule> rules) {
+        for (int d = 0; d < index.size(); d++) {
+            final Operation deletion = index.get(d);
+            if (index.isConsumed(d) || !(deletion instanceof DeleteOperation)) {
+                continue;
+            }
+            handler.reset();
+            if (handler.handle(deletion) != Status.CANDIDATE) {
+                continue;
+            }
+            for (final int i : index.lookup(InsertOperation.class, deletion, handler.getInsertedType())) {
+                if (index.isConsumed(i)) {
+                    continue;
+                }
+                if (handler.handle(index.get(i)) == Status.ACCEPTED) {
+                    rules.add(handler.getRule());
+                    index.consume(d);
+                    index.consume(i);
+                    break;
+                }
+                handler.reset(); // back to where the deletion left it
+                handler.handle(deletion);
+            }
+        }
+        handler.reset();
+    }
+
+    /* a handler together with a gap buffer in place of a list iterator: the
+     * operations before the cursor are in handled, and the ones after it are
+     * in pending */
+    private static final class Lane {
+        private final RegExpHandler handler;
+        private final ArrayDeque<Operation> handled;
+        private final ArrayDeque<Operation> pending;
+        private final List<Rule> rules;
+        private Collection<Operation> downstream;
+        private Status preStatus;
+
+        Lane(final RegExpHandler handler) {
+            this.handler = handler;
+            this.handled = new ArrayDeque<>();
+            this.pending = new ArrayDeque<>();
+            this.rules = new ArrayList<>();
+        }
+
+        void reset(final Collection<Operation> downstream) {
+            this.handler.reset();
+            this.handled.clear();
+            this.pending.clear();
+            this.rules.clear();
+            this.downstream = downstream;
+            this.preStatus = null;
+        }
+
+        void run() {
+            while (!this.pending.isEmpty()) {
+                final Operation operation = this.pending.pollFirst();
+                this.handled.addLast(operation);
+                final boolean fromInitState = this.preStatus != Status.CANDIDATE;
+                final Status curStatus = this.handler.handle(operation);
+                int count = this.handler.getConsumed();
+                if (this.preStatus == Status.CANDIDATE && curStatus == Status.REJECTED) {
+                    while (count-- > 0) { // go back for count steps
+                        this.pending.addFirst(this.handled.pollLast());
+                    }
+                    this.handler.reset();
+                } else if (curStatus == Status.ACCEPTED) {
+                    while (count-- > 0) { // delete last count operations
+                        this.handled.pollLast();
+                    }
+                    if (!this.handled.isEmpty()) { // and step back over the one before them
+                        this.pending.addFirst(this.handled.pollLast());
+                    }
+                    this.rules.add(this.handler.getRule());
+                    this.handler.reset();
+                } else if (fromInitState && curStatus == Status.REJECTED) {
+                    while (this.handled.size() > 1) {
+                        this.downstream.add(this.handled.pollFirst());
+                    }
+                }
+                this.preStatus = curStatus;
+            }
+        }
+
+        void finish() {
+            run();
+            this.downstream.addAll(this.handled);
+            this.handled.clear();
+        }
+    }
+}
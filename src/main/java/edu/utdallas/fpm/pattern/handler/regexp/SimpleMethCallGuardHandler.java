@@ -17,8 +17,13 @@ import static spoon.reflect.code.BinaryOperatorKind.*;
 // we call it simple because a method call,
 // like m() could return void or anything else
 public class SimpleMethCallGuardHandler extends RegExpHandler {
+    private final InsIfState insIfState;
+    private final IMState imState;
+
     public SimpleMethCallGuardHandler() {
         initState = new InitState();
+        this.insIfState = new InsIfState();
+        this.imState = new IMState();
         this.state = initState;
         this.consumed = 0;
     }
@@ -71,7 +76,7 @@ public class SimpleMethCallGuardHandler extends RegExpHandler {
                                     final List<CtInvocation> guardedInvocations =
                                             getGuardedInvocations(branch, base);
                                     if (!guardedInvocations.isEmpty()) {
-                                        return new InsIfState(guardedInvocations);
+                                        return insIfState.enter(guardedInvocations);
                                     }
                                 }
                             }
@@ -93,10 +98,11 @@ public class SimpleMethCallGuardHandler extends RegExpHandler {
     }
 
     private class InsIfState implements State {
-        private final List<CtInvocation> guardedInvocations;
+        private List<CtInvocation> guardedInvocations;
 
-        public InsIfState(List<CtInvocation> guardedInvocations) {
+        InsIfState enter(List<CtInvocation> guardedInvocations) {
             this.guardedInvocations = guardedInvocations;
+            return this;
         }
 
         @Override
@@ -106,7 +112,7 @@ public class SimpleMethCallGuardHandler extends RegExpHandler {
                 if (movedElement instanceof CtInvocation) {
                     final CtInvocation movedInvocation = (CtInvocation) movedElement;
                     if (guardedInvocations.contains(movedInvocation)) {
-                        return new IMState(movedInvocation);
+                        return imState.enter(movedInvocation);
                     }
                 }
             }
@@ -115,10 +121,11 @@ public class SimpleMethCallGuardHandler extends RegExpHandler {
     }
 
     private class IMState implements AcceptanceState {
-        private final CtInvocation guardedInvocation;
+        private CtInvocation guardedInvocation;
 
-        public IMState(CtInvocation guardedInvocation) {
+        IMState enter(CtInvocation guardedInvocation) {
             this.guardedInvocation = guardedInvocation;
+            return this;
         }
 
         @Override
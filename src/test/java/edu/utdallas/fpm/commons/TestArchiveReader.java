@@ -0,0 +1,84 @@
+package edu.utdallas.fpm.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+public class TestArchiveReader {
+    private static final String[][] ENTRIES = {
+            {"d/p1/old/A.java", "class A { }"},
+            {"d/p1/README", "not java"},
+            {"d/p2/fixed-version/B.java", "class B { int x; }"},
+            {"d/p1/fix/A.java", "class A { int y; }"},
+            {"d/p2/buggy-version/B.java", "class B { }"},
+            {"d/p3/old/C.java", "class C { }"}
+    };
+
+    private static List<String> mine(final File archive) {
+        final List<String> pairs = new ArrayList<>();
+        new ArchiveReader(archive).parse(pair -> pairs.add(pair.getBuggyName().substring(archive.getPath().length())
+                + "," + pair.getFixedName().substring(archive.getPath().length())
+                + "," + pair.getBuggySource()
+                + "," + pair.getFixedSource()));
+        return pairs;
+    }
+
+    private static void assertPairs(final List<String> pairs) {
+        final String s = File.separator;
+        assertEquals(Arrays.asList(s + "d/p1/old/A.java," + s + "d/p1/fix/A.java,class A { },class A { int y; }",
+                s + "d/p2/buggy-version/B.java," + s + "d/p2/fixed-version/B.java,class B { },class B { int x; }"),
+                pairs);
+    }
+
+    @Test
+    public void testZip() throws Exception {
+        final File zip = File.createTempFile("corpus", ".zip");
+        zip.deleteOnExit();
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zip))) {
+            for (final String[] entry : ENTRIES) {
+                zos.putNextEntry(new ZipEntry(entry[0]));
+                zos.write(entry[1].getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+        assertPairs(mine(zip));
+    }
+
+    @Test
+    public void testTarGz() throws Exception {
+        final File tgz = File.createTempFile("corpus", ".tar.gz");
+        tgz.deleteOnExit();
+        try (OutputStream os = new GZIPOutputStream(new FileOutputStream(tgz))) {
+            writeTarEntry(os, "d/", '5', new byte[0]);
+            for (final String[] entry : ENTRIES) {
+                writeTarEntry(os, entry[0], '0', entry[1].getBytes(StandardCharsets.UTF_8));
+            }
+            os.write(new byte[1024]);
+        }
+        assertPairs(mine(tgz));
+    }
+
+    private static void writeTarEntry(final OutputStream os,
+                                      final String name,
+                                      final char type,
+                                      final byte[] content) throws IOException {
+        final byte[] header = new byte[512];
+        final byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+        final byte[] size = String.format("%011o", content.length).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(size, 0, header, 124, size.length);
+        header[156] = (byte) type;
+        os.write(header);
+        os.write(content);
+        os.write(new byte[(512 - content.length % 512) % 512]);
+    }
+}
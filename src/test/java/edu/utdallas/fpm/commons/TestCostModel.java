@@ -0,0 +1,62 @@
+package edu.utdallas.fpm.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestCostModel {
+    private static File newFile(final File directory, final String name, final int size) throws Exception {
+        final File file = new File(directory, name);
+        try (FileOutputStream fos = new FileOutputStream(file)) {
+            fos.write(new byte[size]);
+        }
+        file.deleteOnExit();
+        return file;
+    }
+
+    @Test
+    public void testHistoryIsCompactedAndSurvivesCommas() throws Exception {
+        final File directory = Files.createTempDirectory("cost").toFile();
+        directory.deleteOnExit();
+        final File buggy = newFile(directory, "a,buggy.java", 10);
+        final File fixed = newFile(directory, "a,fixed.java", 10);
+        final File history = new File(directory, "history.csv");
+        history.deleteOnExit();
+
+        CostModel costModel = CostModel.load(history);
+        costModel.record(buggy, fixed, 100L);
+        costModel.record(buggy, fixed, 200L);
+        costModel.close();
+
+        costModel = CostModel.load(history);
+        assertEquals(200D, costModel.estimate(buggy, fixed), 0D);
+        costModel.close();
+        assertEquals(1, Files.readAllLines(history.toPath()).size());
+    }
+
+    @Test
+    public void testLargestPairsComeFirst() throws Exception {
+        final File directory = Files.createTempDirectory("cost").toFile();
+        directory.deleteOnExit();
+        final File list = new File(directory, "list.csv");
+        list.deleteOnExit();
+        try (PrintWriter pw = new PrintWriter(list)) {
+            for (final int size : new int[] {10, 30, 20}) {
+                pw.printf("%s,%s%n",
+                        newFile(directory, size + "-buggy.java", size).getAbsolutePath(),
+                        newFile(directory, size + "-fixed.java", size).getAbsolutePath());
+            }
+        }
+        final List<String> visited = new ArrayList<>();
+        new FileListParser(list).parse((buggy, fixed) -> visited.add(buggy.getName()), CostModel.load(null));
+        assertEquals(Arrays.asList("30-buggy.java", "20-buggy.java", "10-buggy.java"), visited);
+    }
+}
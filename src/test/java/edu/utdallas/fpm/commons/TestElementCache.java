@@ -0,0 +1,107 @@
+package edu.utdallas.fpm.commons;
+
+import gumtree.spoon.AstComparator;
+import org.junit.jupiter.api.Test;
+import spoon.reflect.code.CtExpression;
+import spoon.reflect.code.CtStatement;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.visitor.filter.TypeFilter;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TestElementCache {
+    private static final String[] PAIRS = {"FieldLocal.java", "LocalMethod.java", "Constantify.java", "BOR.java"};
+
+    /* the expressions of both sides of the named test pair */
+    static List<CtElement> expressionsOf(final String pairName) throws Exception {
+        final File buggyDir = Paths.get(TestElementCache.class.getClassLoader()
+                .getResource("buggy").toURI()).toFile();
+        final File fixedDir = new File(buggyDir.getParentFile(), "fixed");
+        final List<CtElement> expressions = new ArrayList<>();
+        for (final File file : new File[] {new File(buggyDir, pairName), new File(fixedDir, pairName)}) {
+            expressions.addAll(new AstComparator().getCtType(file)
+                    .getElements(new TypeFilter<CtExpression<?>>(CtExpression.class)));
+        }
+        return expressions;
+    }
+
+    /* what Util.sibling used to do, rebuilding and comparing the sets */
+    private static boolean siblingUncached(final CtElement e1, final CtElement e2) {
+        if (e1.getParent() == null || e2.getParent() == null) {
+            return false;
+        }
+        return descendantsOf(e1).equals(descendantsOf(e2));
+    }
+
+    private static Set<CtElement> descendantsOf(final CtElement element) {
+        final Set<CtElement> set = new HashSet<>();
+        final Set<CtElement> excluded = new HashSet<>();
+        excluded.add(element);
+        for (final CtElement e : element.asIterable()) {
+            if (e instanceof CtExpression || e instanceof CtStatement) {
+                if (!excluded.contains(e)) {
+                    final CtElement p = e.getParent();
+                    if (excluded.contains(p)) {
+                        excluded.add(p);
+                    } else {
+                        set.add(e);
+                    }
+                }
+            }
+        }
+        return set;
+    }
+
+    @Test
+    public void testSiblingAgreesWithAndWithoutTheCache() throws Exception {
+        int siblings = 0;
+        int others = 0;
+        for (final String pairName : PAIRS) {
+            final List<CtElement> expressions = expressionsOf(pairName);
+            for (int round = 0; round < 2; round++) { // the second round reads the memo
+                ElementCache.open();
+                try {
+                    for (final CtElement e1 : expressions) {
+                        for (final CtElement e2 : expressions) {
+                            final boolean expected = siblingUncached(e1, e2);
+                            assertEquals(expected, Util.sibling(e1, e2));
+                            if (expected) {
+                                siblings++;
+                            } else {
+                                others++;
+                            }
+                        }
+                    }
+                } finally {
+                    ElementCache.close();
+                }
+            }
+            /* and with no cache open, nothing is memoized */
+            for (final CtElement e1 : expressions) {
+                for (final CtElement e2 : expressions) {
+                    assertEquals(siblingUncached(e1, e2), Util.sibling(e1, e2));
+                }
+            }
+        }
+        assertTrue(siblings > 0);
+        assertTrue(others > 0);
+    }
+
+    @Test
+    public void testDescendantsCompareAsSets() throws Exception {
+        final List<CtElement> expressions = expressionsOf("BOR.java");
+        final Set<CtElement> some = new HashSet<>(expressions.subList(0, 1));
+        final Set<CtElement> more = new HashSet<>(expressions);
+        assertTrue(new ElementCache.Descendants(some).sameAs(new ElementCache.Descendants(new HashSet<>(some))));
+        assertTrue(new ElementCache.Descendants(more).sameAs(new ElementCache.Descendants(new HashSet<>(more))));
+        assertEquals(some.equals(more), new ElementCache.Descendants(some).sameAs(new ElementCache.Descendants(more)));
+        assertTrue(new ElementCache.Descendants(new HashSet<>()).sameAs(new ElementCache.Descendants(new HashSet<>())));
+    }
+}
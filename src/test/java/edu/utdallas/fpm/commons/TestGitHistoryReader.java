@@ -0,0 +1,72 @@
+package edu.utdallas.fpm.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestGitHistoryReader {
+    private static void git(final File repository, final String... args) throws Exception {
+        final List<String> command = new ArrayList<>(Arrays.asList("git",
+                "-C", repository.getPath(),
+                "-c", "user.name=fpm",
+                "-c", "user.email=fpm@localhost",
+                "-c", "commit.gpgsign=false"));
+        command.addAll(Arrays.asList(args));
+        final Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        assertEquals(0, process.waitFor());
+    }
+
+    private static void commit(final File repository,
+                               final String message,
+                               final String... files) throws Exception {
+        for (int i = 0; i < files.length; i += 2) {
+            Files.write(new File(repository, files[i]).toPath(), files[i + 1].getBytes(StandardCharsets.UTF_8));
+            git(repository, "add", files[i]);
+        }
+        git(repository, "commit", "-q", "-m", message);
+    }
+
+    @Test
+    public void testFixCommitsAreRead() throws Exception {
+        final File repository = Files.createTempDirectory("repo").toFile();
+        git(repository, "init", "-q");
+        commit(repository, "initial import",
+                "A.java", "class A { }",
+                "B.java", "class B { }",
+                "README", "hello");
+        commit(repository, "Fix the bug in A",
+                "A.java", "class A { int x; }",
+                "README", "hello again");
+        commit(repository, "refactor B",
+                "B.java", "class B { int y; }");
+        commit(repository, "FIXED: B, and added C",
+                "B.java", "class B { int z; }",
+                "C.java", "class C { }");
+
+        final List<String> pairs = new ArrayList<>();
+        new GitHistoryReader(repository, "fix").parse(pair -> {
+            assertEquals(repository.getName(), pair.getProjectName());
+            final String buggyName = pair.getBuggyName();
+            final String fixedName = pair.getFixedName();
+            assertTrue(buggyName.startsWith(repository.getAbsolutePath()));
+            assertTrue(buggyName.endsWith("~1:" + fixedName.substring(fixedName.lastIndexOf(':') + 1)));
+            pairs.add(fixedName.substring(fixedName.lastIndexOf(':') + 1)
+                    + "," + new String(pair.getBuggyBytes(), StandardCharsets.UTF_8)
+                    + "," + new String(pair.getFixedBytes(), StandardCharsets.UTF_8));
+        });
+        /* newest first; added files and non-java files are left out */
+        assertEquals(Arrays.asList("B.java,class B { int y; },class B { int z; }",
+                "A.java,class A { },class A { int x; }"),
+                pairs);
+    }
+}
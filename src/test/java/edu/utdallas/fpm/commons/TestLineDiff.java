@@ -0,0 +1,47 @@
+package edu.utdallas.fpm.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.*;
+
+public class TestLineDiff {
+    private static BitSet bits(final int... lines) {
+        final BitSet bitSet = new BitSet();
+        for (final int line : lines) {
+            bitSet.set(line);
+        }
+        return bitSet;
+    }
+
+    @Test
+    public void testIdentical() {
+        final String[] lines = LineDiff.lines("a\nb\nc");
+        final LineDiff diff = LineDiff.compute(lines, lines, 10);
+        assertTrue(diff.getDeletedLines().isEmpty());
+        assertTrue(diff.getInsertedLines().isEmpty());
+    }
+
+    @Test
+    public void testReplacement() {
+        final LineDiff diff = LineDiff.compute(LineDiff.lines("a\nb\nc\nd"),
+                LineDiff.lines("a\nx\nc\nd"), 10);
+        assertEquals(bits(2), diff.getDeletedLines());
+        assertEquals(bits(2), diff.getInsertedLines());
+    }
+
+    @Test
+    public void testInsertionAndDeletion() {
+        final LineDiff diff = LineDiff.compute(LineDiff.lines("a\nb\nc\nd\ne"),
+                LineDiff.lines("a\nc\nd\nx\ny\ne"), 10);
+        assertEquals(bits(2), diff.getDeletedLines());
+        assertEquals(bits(4, 5), diff.getInsertedLines());
+    }
+
+    @Test
+    public void testTooManyEdits() {
+        assertNull(LineDiff.compute(LineDiff.lines("a\nb\nc"), LineDiff.lines("x\ny\nz"), 3));
+        assertNotNull(LineDiff.compute(LineDiff.lines("a\nb\nc"), LineDiff.lines("x\ny\nz"), 6));
+    }
+}
@@ -0,0 +1,49 @@
+package edu.utdallas.fpm.commons;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.Assert.*;
+
+public class TestSourceFingerprint {
+    @Test
+    public void testFormattingOnly() {
+        final String s1 = "class A {\n    int f(int x) { return x+1; }\n}\n";
+        final String s2 = "class A\n{\n\tint f(int x)\n\t{\n\t\treturn x + 1;\n\t}\n}";
+        assertEquals(SourceFingerprint.of(s1), SourceFingerprint.of(s2));
+    }
+
+    @Test
+    public void testCommentsOnly() {
+        final String s1 = "class A { int f() { return 1; } }";
+        final String s2 = "/** doc */ class A { // line\n int f() { /* block */ return 1; } }";
+        assertEquals(SourceFingerprint.of(s1), SourceFingerprint.of(s2));
+    }
+
+    @Test
+    public void testSemanticChange() {
+        final String s1 = "class A { int f(int x) { return x + 1; } }";
+        final String s2 = "class A { int f(int x) { return x - 1; } }";
+        assertNotEquals(SourceFingerprint.of(s1), SourceFingerprint.of(s2));
+    }
+
+    @Test
+    public void testTokensAreNotGlued() {
+        assertNotEquals(SourceFingerprint.of("a - -b;"), SourceFingerprint.of("a--b;"));
+        assertNotEquals(SourceFingerprint.of("int x;"), SourceFingerprint.of("intx;"));
+    }
+
+    @Test
+    public void testLiteralsAreKept() {
+        assertNotEquals(SourceFingerprint.of("s = \"a  b\";"), SourceFingerprint.of("s = \"a b\";"));
+        assertNotEquals(SourceFingerprint.of("s = \"// x\";"), SourceFingerprint.of("s = \"\";"));
+    }
+
+    @Test
+    public void testLiteralsInOtherEncodingsAreKept() {
+        /* "\u00e9" and "\u00e8" in Latin-1, both invalid as UTF-8 */
+        final byte[] b1 = {'s', '=', '"', (byte) 0xe9, '"', ';'};
+        final byte[] b2 = {'s', '=', '"', (byte) 0xe8, '"', ';'};
+        assertNotEquals(SourceFingerprint.of(b1), SourceFingerprint.of(b2));
+        assertEquals(SourceFingerprint.of(b1), SourceFingerprint.of(new byte[] {'s', ' ', '=', '"', (byte) 0xe9, '"', ';'}));
+    }
+}
@@ -0,0 +1,101 @@
+package edu.utdallas.fpm.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestUnifiedDiff {
+    private static final String BASE = "class A {\n"
+            + "    int f() {\n"
+            + "        return 1;\n"
+            + "    }\n"
+            + "\n"
+            + "    int g() {\n"
+            + "        return 2;\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String PATCH = "diff --git a/src/A.java b/src/A.java\n"
+            + "index 1111111..2222222 100644\n"
+            + "--- a/src/A.java\n"
+            + "+++ b/src/A.java\n"
+            + "@@ -1,4 +1,4 @@\n"
+            + " class A {\n"
+            + "     int f() {\n"
+            + "-        return 1;\n"
+            + "+        return -1;\n"
+            + "     }\n"
+            + "@@ -6,3 +6,4 @@\n"
+            + "     int g() {\n"
+            + "+        f();\n"
+            + "         return 2;\n"
+            + "     }\n";
+
+    private static final String FIXED = "class A {\n"
+            + "    int f() {\n"
+            + "        return -1;\n"
+            + "    }\n"
+            + "\n"
+            + "    int g() {\n"
+            + "        f();\n"
+            + "        return 2;\n"
+            + "    }\n"
+            + "}\n";
+
+    @Test
+    public void testApply() {
+        final List<UnifiedDiff> diffs = UnifiedDiff.parse(PATCH);
+        assertEquals(1, diffs.size());
+        assertEquals("a/src/A.java", diffs.get(0).getOldPath());
+        assertEquals("b/src/A.java", diffs.get(0).getNewPath());
+        assertEquals(FIXED, diffs.get(0).apply(BASE));
+    }
+
+    @Test
+    public void testApplyAtOffset() {
+        final String header = "// moved down by two lines\n\n";
+        assertEquals(header + FIXED, UnifiedDiff.parse(PATCH).get(0).apply(header + BASE));
+    }
+
+    @Test
+    public void testNoNewlineAtEndOfFile() {
+        final String patch = "--- a/B.java\n"
+                + "+++ b/B.java\n"
+                + "@@ -1,2 +1,2 @@\n"
+                + " class B {\n"
+                + "-}\n"
+                + "\\ No newline at end of file\n"
+                + "+}\n";
+        assertEquals("class B {\n}\n", UnifiedDiff.parse(patch).get(0).apply("class B {\n}"));
+    }
+
+    @Test
+    public void testNewAndDeletedFiles() {
+        final String patch = "--- /dev/null\n"
+                + "+++ b/C.java\n"
+                + "@@ -0,0 +1 @@\n"
+                + "+class C { }\n"
+                + "--- a/D.java\n"
+                + "+++ /dev/null\n"
+                + "@@ -1 +0,0 @@\n"
+                + "-class D { }\n";
+        final List<UnifiedDiff> diffs = UnifiedDiff.parse(patch);
+        assertEquals(2, diffs.size());
+        assertNull(diffs.get(0).getOldPath());
+        assertEquals("class C { }\n", diffs.get(0).apply(""));
+        assertNull(diffs.get(1).getNewPath());
+        assertEquals("", diffs.get(1).apply("class D { }\n"));
+    }
+
+    @Test
+    public void testMismatch() {
+        try {
+            UnifiedDiff.parse(PATCH).get(0).apply(BASE.replace("return 1;", "return 3;"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("line 1"));
+        }
+    }
+}
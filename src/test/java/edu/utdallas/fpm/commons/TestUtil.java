@@ -1,8 +1,14 @@
 package edu.utdallas.fpm.commons;
 
 import org.junit.jupiter.api.Test;
+import spoon.reflect.code.CtAbstractInvocation;
+import spoon.reflect.code.CtExpression;
+import spoon.reflect.declaration.CtElement;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 import static org.junit.Assert.*;
 
@@ -24,4 +30,60 @@ public class TestUtil {
         final File file = new File("/media/disk6TV1/ali/larger-dataset/2011/V1/3379/buggy-version/something.java");
         assertTrue(Util.computeProjectName(file, "").equals("something.java"));
     }
+
+    /* what Util.textEquals used to do, printing both elements every time */
+    private static boolean textEqualsUncached(final CtExpression e1, final CtExpression e2) {
+        if (Objects.equals(e1, e2)) {
+            return true;
+        }
+        if (e1 == null || e2 == null) {
+            return false;
+        }
+        final String s1 = e1.toString();
+        final String s2 = e2.toString();
+        return s1.equals(s2)
+                || String.format("(%s)", s1).equals(s2)
+                || String.format("(%s)", s2).equals(s1);
+    }
+
+    private static void assertEqualitiesAgree(final List<CtElement> elements) {
+        for (final CtElement e1 : elements) {
+            for (final CtElement e2 : elements) {
+                assertEquals(Objects.equals(e1, e2), Util.equalsElement(e1, e2));
+                assertEquals(textEqualsUncached((CtExpression) e1, (CtExpression) e2),
+                        Util.textEquals((CtExpression) e1, (CtExpression) e2));
+            }
+            assertFalse(Util.equalsElement(e1, null));
+            assertFalse(Util.textEquals((CtExpression) e1, null));
+        }
+        final List<List<CtExpression<?>>> argumentLists = new ArrayList<>();
+        for (final CtElement element : elements) {
+            if (element instanceof CtAbstractInvocation) {
+                argumentLists.add(((CtAbstractInvocation<?>) element).getArguments());
+            }
+        }
+        for (final List<CtExpression<?>> l1 : argumentLists) {
+            for (final List<CtExpression<?>> l2 : argumentLists) {
+                assertEquals(Objects.equals(l1, l2), Util.equalsElements(l1, l2));
+            }
+            assertFalse(Util.equalsElements(l1, null));
+        }
+    }
+
+    @Test
+    public void testElementEqualitiesAgreeWithAndWithoutTheCache() throws Exception {
+        for (final String pairName : new String[] {"BOR.java", "ArgList.java", "Constantify.java", "UnaryOp.java"}) {
+            final List<CtElement> expressions = TestElementCache.expressionsOf(pairName);
+            assertEqualitiesAgree(expressions);
+            ElementCache.open();
+            try {
+                assertEqualitiesAgree(expressions);
+                assertEqualitiesAgree(expressions); // from the memo
+            } finally {
+                ElementCache.close();
+            }
+        }
+        assertTrue(Util.equalsElement(null, null));
+        assertTrue(Util.equalsElements(null, null));
+    }
 }
@@ -0,0 +1,101 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.pattern.rules.Rule;
+import gumtree.spoon.AstComparator;
+import gumtree.spoon.diff.operations.Operation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/* the buggy/fixed pairs of the test resources, and ways of mining them whose
+ * outcomes can be compared */
+final class MiningFixtures {
+    private MiningFixtures() {
+
+    }
+
+    /* {buggy, fixed} pairs, by name */
+    static List<File[]> pairs() throws Exception {
+        final File buggyDir = Paths.get(MiningFixtures.class.getClassLoader()
+                .getResource("buggy").toURI()).toFile();
+        final File fixedDir = new File(buggyDir.getParentFile(), "fixed");
+        final File[] buggyFiles = buggyDir.listFiles();
+        if (buggyFiles == null) {
+            throw new IOException("unable to list " + buggyDir);
+        }
+        Arrays.sort(buggyFiles);
+        final List<File[]> pairs = new ArrayList<>();
+        for (final File buggy : buggyFiles) {
+            final File fixed = new File(fixedDir, buggy.getName());
+            if (fixed.isFile()) {
+                pairs.add(new File[] {buggy, fixed});
+            }
+        }
+        return pairs;
+    }
+
+    /* the operations of a {buggy, fixed} pair, as GumTree gives them */
+    static List<Operation> operations(final File[] pair) throws Exception {
+        return new ArrayList<>(new AstComparator().compare(pair[0], pair[1]).getRootOperations());
+    }
+
+    /* a rule with all of its contents, as mined from the named pair */
+    static String describe(final String pairName, final Rule rule) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(rule);
+        }
+        return pairName + " " + rule.getClass().getSimpleName() + " "
+                + Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    /* the rules mined from every pair by a single miner, one pair after the
+     * other and with no pipeline, described and sorted */
+    static List<String> mineSequentially() throws Exception {
+        final PatternMiner miner = new PatternMiner();
+        final List<String> rules = new ArrayList<>();
+        for (final File[] pair : pairs()) {
+            for (final Rule rule : miner.mine(operations(pair))) {
+                rules.add(describe(pair[0].getName(), rule));
+            }
+        }
+        Collections.sort(rules);
+        return rules;
+    }
+
+    /* the rules mined from every pair through the pipeline, described and sorted */
+    static List<String> minePipeline(final int threads, final int hunkScopedMinLines) throws Exception {
+        final BlockingQueue<MinedRule> queue = new LinkedBlockingQueue<>();
+        final MiningPipeline pipeline = new MiningPipeline(queue,
+                -1,
+                threads,
+                threads,
+                threads,
+                threads,
+                threads,
+                false,
+                1000,
+                hunkScopedMinLines);
+        pipeline.start();
+        for (final File[] pair : pairs()) {
+            pipeline.submit(new PairTask(pair[0], pair[1], pair[0].getName()));
+        }
+        pipeline.finish();
+        final List<String> rules = new ArrayList<>();
+        for (final MinedRule minedRule : queue) {
+            rules.add(describe(minedRule.getProjectName(), minedRule.getRule()));
+        }
+        Collections.sort(rules);
+        return rules;
+    }
+}
@@ -0,0 +1,21 @@
+package edu.utdallas.fpm.main;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class TestAstDiffer {
+    @Test
+    public void testHunkScopedDiffsMineTheSameRules() {
+        assertTimeoutPreemptively(Duration.ofMinutes(10), () -> {
+            final List<String> whole = MiningFixtures.minePipeline(1, -1);
+            assertFalse(whole.isEmpty());
+            /* every file is scoped, real-world.java included */
+            assertEquals(whole, MiningFixtures.minePipeline(1, 0));
+        });
+    }
+}
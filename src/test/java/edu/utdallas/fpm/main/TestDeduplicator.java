@@ -0,0 +1,82 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.pattern.rules.LocalNameReplacementRule;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestDeduplicator {
+    private static PairTask task(final String name, final String buggy, final String fixed) {
+        final PairTask task = new PairTask(new File(name + "-buggy.java"), new File(name + "-fixed.java"), name);
+        task.contentKey = Deduplicator.keyOf(buggy.getBytes(StandardCharsets.UTF_8),
+                fixed.getBytes(StandardCharsets.UTF_8));
+        return task;
+    }
+
+    @Test
+    public void testCopiesFollowTheirLeader() {
+        final Deduplicator deduplicator = new Deduplicator();
+        final PairTask leader = task("a", "class A { }", "class A { int x; }");
+        final PairTask waiting = task("b", "class A { }", "class A { int x; }");
+        final PairTask other = task("c", "class A { }", "class A { int y; }");
+        assertTrue(deduplicator.admit(leader));
+        assertFalse(deduplicator.admit(waiting));
+        assertNull(waiting.result);
+        assertTrue(deduplicator.admit(other));
+
+        leader.result = MiningResult.mined(Collections.emptyList());
+        final List<PairTask> copies = deduplicator.complete(leader);
+        assertEquals(Collections.singletonList(waiting), copies);
+        assertSame(leader.result, waiting.result);
+        assertTrue(waiting.duplicate);
+        assertFalse(leader.duplicate);
+
+        final PairTask late = task("d", "class A { }", "class A { int x; }");
+        assertFalse(deduplicator.admit(late));
+        assertEquals(MiningResult.Outcome.MINED, late.result.getOutcome());
+        assertTrue(late.result.getRules().isEmpty());
+        other.result = MiningResult.NO_DIFF;
+        assertTrue(deduplicator.complete(other).isEmpty());
+    }
+
+    @Test
+    public void testLateCopiesGetTheRulesBack() throws Exception {
+        final Deduplicator deduplicator = new Deduplicator();
+        final PairTask leader = task("a", "class A { }", "class A { int x; }");
+        assertTrue(deduplicator.admit(leader));
+        leader.result = MiningResult.mined(Arrays.asList(new LocalNameReplacementRule("x", "y"),
+                new LocalNameReplacementRule("y", "z")));
+        assertTrue(deduplicator.complete(leader).isEmpty());
+
+        final PairTask late = task("b", "class A { }", "class A { int x; }");
+        assertFalse(deduplicator.admit(late));
+        assertEquals(MiningResult.Outcome.MINED, late.result.getOutcome());
+        assertEquals(2, late.result.getRules().size());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(MiningFixtures.describe("a", leader.result.getRules().get(i)),
+                    MiningFixtures.describe("a", late.result.getRules().get(i)));
+        }
+
+        final PairTask timedOut = task("c", "class C { }", "class C { int x; }");
+        assertTrue(deduplicator.admit(timedOut));
+        timedOut.result = MiningResult.TIMED_OUT;
+        deduplicator.complete(timedOut);
+        final PairTask copy = task("d", "class C { }", "class C { int x; }");
+        assertFalse(deduplicator.admit(copy));
+        assertEquals(MiningResult.Outcome.TIMED_OUT, copy.result.getOutcome());
+    }
+
+    @Test
+    public void testSidesAreNotInterchangeable() {
+        assertNotEquals(Deduplicator.keyOf(new byte[] {1}, new byte[] {2, 3}),
+                Deduplicator.keyOf(new byte[] {1, 2}, new byte[] {3}));
+        assertNotEquals(Deduplicator.keyOf(new byte[] {1}, new byte[] {2}),
+                Deduplicator.keyOf(new byte[] {2}, new byte[] {1}));
+    }
+}
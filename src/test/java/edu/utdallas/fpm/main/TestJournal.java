@@ -0,0 +1,107 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.pattern.rules.LocalNameReplacementRule;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.Assert.*;
+
+public class TestJournal {
+    private static PairTask task(final String name, final MiningResult result) {
+        final PairTask task = new PairTask(new File(name + "-buggy.java"), new File(name + "-fixed.java"), name);
+        task.contentKey = name;
+        task.result = result;
+        return task;
+    }
+
+    private static File newJournal() throws Exception {
+        final File file = File.createTempFile("journal", ".bin");
+        file.deleteOnExit();
+        return file;
+    }
+
+    /* mines a, finds no diff in b, and times out on c */
+    private static void firstRun(final File file) throws Exception {
+        final Journal journal = Journal.open(file, false, new LinkedBlockingQueue<>(), new Deduplicator());
+        journal.record(task("a", MiningResult.mined(Arrays.asList(new LocalNameReplacementRule("x", "y"),
+                new LocalNameReplacementRule("y", "z")))));
+        journal.record(task("b", MiningResult.NO_DIFF));
+        journal.record(task("c", MiningResult.TIMED_OUT));
+        journal.close();
+    }
+
+    private static boolean isCompleted(final Journal journal, final String name) {
+        final PairTask task = task(name, null);
+        return journal.isCompleted(Journal.keyOf(task.buggy, task.fixed));
+    }
+
+    @Test
+    public void testRecordsAreLengthPrefixed() throws Exception {
+        final File file = newJournal();
+        final Journal journal = Journal.open(file, false, new LinkedBlockingQueue<>(), new Deduplicator());
+        journal.record(task("b", MiningResult.NO_DIFF));
+        journal.close();
+        try (DataInputStream dis = new DataInputStream(new FileInputStream(file))) {
+            assertEquals(file.length() - 4, dis.readInt());
+        }
+    }
+
+    @Test
+    public void testResumingReplaysRulesAndRetriesTimeOuts() throws Exception {
+        final File file = newJournal();
+        firstRun(file);
+        final BlockingQueue<MinedRule> queue = new LinkedBlockingQueue<>();
+        final Deduplicator deduplicator = new Deduplicator();
+        final Journal journal = Journal.open(file, true, queue, deduplicator);
+        journal.close();
+        assertEquals(2, journal.completedCount());
+        assertTrue(isCompleted(journal, "a"));
+        assertTrue(isCompleted(journal, "b"));
+        assertFalse(isCompleted(journal, "c"));
+        assertEquals(2, queue.size());
+        for (final MinedRule minedRule : queue) {
+            assertEquals("a", minedRule.getProjectName());
+            assertTrue(minedRule.getRule() instanceof LocalNameReplacementRule);
+        }
+        /* a copy of a journaled pair takes its result from the journal */
+        final PairTask copy = task("a", null);
+        assertFalse(deduplicator.admit(copy));
+        assertEquals(2, copy.result.getRules().size());
+    }
+
+    @Test
+    public void testTornTailIsTruncated() throws Exception {
+        final File file = newJournal();
+        firstRun(file);
+        final long goodLength = file.length();
+        try (DataOutputStream dos = new DataOutputStream(new FileOutputStream(file, true))) {
+            dos.writeInt(1000);
+            dos.write(new byte[10]);
+        }
+        Journal journal = Journal.open(file, true, new LinkedBlockingQueue<>(), new Deduplicator());
+        assertEquals(goodLength, file.length());
+        assertEquals(2, journal.completedCount());
+        /* and the journal goes on from there */
+        journal.record(task("d", MiningResult.NO_DIFF));
+        journal.close();
+        journal = Journal.open(file, true, new LinkedBlockingQueue<>(), new Deduplicator());
+        journal.close();
+        assertEquals(3, journal.completedCount());
+    }
+
+    @Test
+    public void testStartingOverForgetsEverything() throws Exception {
+        final File file = newJournal();
+        firstRun(file);
+        final BlockingQueue<MinedRule> queue = new LinkedBlockingQueue<>();
+        final Journal journal = Journal.open(file, false, queue, new Deduplicator());
+        journal.close();
+        assertEquals(0, journal.completedCount());
+        assertTrue(queue.isEmpty());
+        assertEquals(0L, file.length());
+    }
+}
@@ -0,0 +1,22 @@
+package edu.utdallas.fpm.main;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class TestParallelMining {
+    @Test
+    public void testParallelRunsMineWhatSequentialRunsMine() {
+        assertTimeoutPreemptively(Duration.ofMinutes(10), () -> {
+            final List<String> sequential = MiningFixtures.mineSequentially();
+            assertFalse(sequential.isEmpty());
+            for (int round = 0; round < 4; round++) {
+                assertEquals(sequential, MiningFixtures.minePipeline(4, -1));
+            }
+        });
+    }
+}
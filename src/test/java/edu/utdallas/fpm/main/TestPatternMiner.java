@@ -0,0 +1,163 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.pattern.handler.HandlerTable;
+import edu.utdallas.fpm.pattern.handler.OperationHandler;
+import edu.utdallas.fpm.pattern.handler.point.delete.DeleteHandler;
+import edu.utdallas.fpm.pattern.handler.point.insert.InsertHandler;
+import edu.utdallas.fpm.pattern.handler.point.update.UpdateHandler;
+import edu.utdallas.fpm.pattern.handler.regexp.*;
+import edu.utdallas.fpm.pattern.rules.Rule;
+import edu.utdallas.fpm.pattern.rules.UnknownRule;
+import gumtree.spoon.diff.operations.Operation;
+import org.junit.jupiter.api.Test;
+import spoon.reflect.cu.SourcePosition;
+import spoon.reflect.cu.position.NoSourcePosition;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+import static org.junit.Assert.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class TestPatternMiner {
+    private static RegExpHandler[] regExpHandlers() {
+        return new RegExpHandler[] {
+                new IfShortCircuitHandler(),
+                new DecomposedMethodCallHandler(),
+                new DecomposeBinaryOperatorHandler(),
+                new ConstantificationHandler(),
+                new FunctionOperatorReplacementHandler(),
+                new FieldLocalReplacementHandler(),
+                new LocalToMethodReplacementHandler(),
+                new MethodToLocalReplacementHandler(),
+                new NegateIntExpHandler(),
+                new NegateConditionalHandler(),
+                new FieldMethDerefGuardHandler(),
+                new AccessorHandler(),
+                new SimpleMethCallGuardHandler(),
+                new IncDecRemovalHandler()
+        };
+    }
+
+    /* the operations of the pair, sorted the way the miner sorts them */
+    private static List<Operation> sortedOperations(final File[] pair) throws Exception {
+        final List<Operation> ops = MiningFixtures.operations(pair);
+        ops.sort(Comparator.comparingInt(o -> {
+            final SourcePosition sp = o.getSrcNode().getPosition();
+            if (sp instanceof NoSourcePosition) {
+                return Integer.MAX_VALUE;
+            }
+            return sp.getSourceStart();
+        }));
+        return ops;
+    }
+
+    /* the handlers one after the other, each walking the list with an
+     * iterator, as the miner used to run them */
+    private static List<Rule> matchHandlerByHandler(final RegExpHandler[] handlers, final List<Operation> ops) {
+        final List<Rule> rules = new ArrayList<>();
+        for (final RegExpHandler regExpHandler : handlers) {
+            regExpHandler.reset();
+            ListIterator<Operation> opLIt = ops.listIterator();
+            Status preStatus = null;
+            while (opLIt.hasNext()) {
+                final Operation operation = opLIt.next();
+                final Status curStatus = regExpHandler.handle(operation);
+                int count = regExpHandler.getConsumed();
+                if (preStatus == Status.CANDIDATE && curStatus == Status.REJECTED) {
+                    while (count-- > 0) {
+                        opLIt.previous();
+                    }
+                    regExpHandler.reset();
+                } else if (curStatus == Status.ACCEPTED) {
+                    while (count-- > 0) {
+                        opLIt.remove();
+                        if (opLIt.hasPrevious()) {
+                            opLIt.previous();
+                        }
+                    }
+                    rules.add(regExpHandler.getRule());
+                    regExpHandler.reset();
+                }
+                preStatus = curStatus;
+            }
+        }
+        return rules;
+    }
+
+    private static OperationHandler[] pointHandlers() {
+        return new OperationHandler[] {
+                DeleteHandler.createHandlerChain(),
+                InsertHandler.createHandlerChain(),
+                UpdateHandler.createHandlerChain()
+        };
+    }
+
+    /* each chain that can handle the operation, walked handler by handler, as
+     * the miner used to do */
+    private static void handleLinearly(final OperationHandler[] chains,
+                                       final Operation operation,
+                                       final List<Rule> rules) {
+        for (final OperationHandler handler : chains) {
+            if (handler != null && handler.canHandleOperation(operation)) {
+                final Rule rule = handler.handleOperation(operation);
+                if (!(rule instanceof UnknownRule)) {
+                    rules.add(rule);
+                }
+            }
+        }
+    }
+
+    private static List<String> describe(final String pairName, final List<Rule> rules) throws Exception {
+        final List<String> descriptions = new ArrayList<>();
+        for (final Rule rule : rules) {
+            descriptions.add(MiningFixtures.describe(pairName, rule));
+        }
+        return descriptions;
+    }
+
+    @Test
+    public void testCascadeMatchesHandlerByHandler() {
+        assertTimeoutPreemptively(Duration.ofMinutes(10), () -> {
+            int matched = 0;
+            for (final File[] pair : MiningFixtures.pairs()) {
+                final List<Operation> expectedOps = sortedOperations(pair);
+                final List<Operation> actualOps = new ArrayList<>(expectedOps);
+                final List<Rule> expected = matchHandlerByHandler(regExpHandlers(), expectedOps);
+                final List<Rule> actual = new RegExpMatcher(regExpHandlers(), new RegExpHandler[0])
+                        .match(actualOps);
+                final String pairName = pair[0].getName();
+                /* same rules, in the same order, and the same operations left over */
+                assertEquals(describe(pairName, expected), describe(pairName, actual));
+                assertEquals(expectedOps, actualOps);
+                matched += expected.size();
+            }
+            assertTrue(matched > 0);
+        });
+    }
+
+    @Test
+    public void testHandlerTableMatchesTheChains() {
+        assertTimeoutPreemptively(Duration.ofMinutes(10), () -> {
+            final OperationHandler[] chains = pointHandlers();
+            final HandlerTable table = new HandlerTable(pointHandlers());
+            int handled = 0;
+            for (final File[] pair : MiningFixtures.pairs()) {
+                final String pairName = pair[0].getName();
+                for (final Operation operation : sortedOperations(pair)) {
+                    final List<Rule> expected = new ArrayList<>();
+                    final List<Rule> actual = new ArrayList<>();
+                    handleLinearly(chains, operation, expected);
+                    table.handle(operation, actual);
+                    assertEquals(describe(pairName, expected), describe(pairName, actual));
+                    handled += expected.size();
+                }
+            }
+            assertTrue(handled > 0);
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package edu.utdallas.fpm.main;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class TestResultCache {
+    private static String key(final ResultCache cache, final String buggy, final String fixed) {
+        return cache.keyOf(buggy.getBytes(StandardCharsets.UTF_8), fixed.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static File newDirectory() throws Exception {
+        final File directory = Files.createTempDirectory("cache").toFile();
+        directory.deleteOnExit();
+        return directory;
+    }
+
+    @Test
+    public void testKeys() throws Exception {
+        final ResultCache cache = ResultCache.open(newDirectory(), Long.MAX_VALUE, -1);
+        assertEquals(key(cache, "class A { }", "class A { int x; }"),
+                key(cache, "class A { }", "class A { int x; }"));
+        assertNotEquals(key(cache, "class A { }", "class A { int x; }"),
+                key(cache, "class A { int x; }", "class A { }"));
+        /* results of whole and hunk-scoped diffs are kept apart */
+        final ResultCache scoped = ResultCache.open(newDirectory(), Long.MAX_VALUE, 0);
+        assertNotEquals(key(cache, "class A { }", "class A { int x; }"),
+                key(scoped, "class A { }", "class A { int x; }"));
+    }
+
+    @Test
+    public void testOnlyTimingIndependentResultsAreStored() throws Exception {
+        final File directory = newDirectory();
+        final ResultCache cache = ResultCache.open(directory, Long.MAX_VALUE, -1);
+        final String mined = key(cache, "a", "b");
+        final String timedOut = key(cache, "c", "d");
+        assertNull(cache.lookup(mined));
+        cache.store(mined, MiningResult.NO_DIFF);
+        cache.store(timedOut, MiningResult.TIMED_OUT);
+        assertEquals(MiningResult.Outcome.NO_DIFF, cache.lookup(mined).getOutcome());
+        assertNull(cache.lookup(timedOut));
+        /* entries outlive the run */
+        final ResultCache reopened = ResultCache.open(directory, Long.MAX_VALUE, -1);
+        assertEquals(MiningResult.Outcome.NO_DIFF, reopened.lookup(mined).getOutcome());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() throws Exception {
+        final File probe = newDirectory();
+        final ResultCache sizer = ResultCache.open(probe, Long.MAX_VALUE, -1);
+        final String a = key(sizer, "a", "a'");
+        sizer.store(a, MiningResult.NO_DIFF);
+        final long entrySize = Files.size(probe.toPath().resolve(a.substring(0, 2)).resolve(a));
+
+        /* room for two entries, and 90% of it is still more than two */
+        final ResultCache cache = ResultCache.open(newDirectory(), 2 * entrySize + entrySize / 2, -1);
+        final String b = key(cache, "b", "b'");
+        final String c = key(cache, "c", "c'");
+        cache.store(a, MiningResult.NO_DIFF);
+        cache.store(b, MiningResult.NO_DIFF);
+        assertNotNull(cache.lookup(a));
+        cache.store(c, MiningResult.NO_DIFF);
+        assertNull(cache.lookup(b));
+        assertNotNull(cache.lookup(a));
+        assertNotNull(cache.lookup(c));
+    }
+}
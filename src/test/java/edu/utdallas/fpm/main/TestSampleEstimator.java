@@ -0,0 +1,61 @@
+package edu.utdallas.fpm.main;
+
+import edu.utdallas.fpm.pattern.rules.LocalNameReplacementRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TestSampleEstimator {
+    private static final MiningResult HIT =
+            MiningResult.mined(Collections.singletonList(new LocalNameReplacementRule("x", "y")));
+
+    private static final MiningResult MISS = MiningResult.NO_DIFF;
+
+    @Test
+    public void testStrataShortOfTwoSampledPairsAreCollapsed() {
+        final Map<String, Integer> sizes = new HashMap<>();
+        sizes.put("a", 10);
+        sizes.put("b", 10);
+        sizes.put("c", 5);
+        sizes.put("d", 5);
+        final SampleEstimator estimator = new SampleEstimator(sizes);
+        /* a: 2 hits out of 4 */
+        estimator.record("a", HIT);
+        estimator.record("a", HIT);
+        estimator.record("a", MISS);
+        estimator.record("a", MISS);
+        /* b: no hit out of 2, and a time-out that does not count */
+        estimator.record("b", MISS);
+        estimator.record("b", MISS);
+        estimator.record("b", MiningResult.TIMED_OUT);
+        /* c: 1 hit out of 1; d: not sampled */
+        estimator.record("c", HIT);
+
+        /* c and d make a stratum of 10 with 1 sampled pair, which is still
+         * short, so it goes into b: 20 pairs, 1 hit out of 3 */
+        assertEquals(30L, estimator.getPopulation());
+        final Map<String, double[]> estimates = estimator.estimates();
+        assertEquals(Collections.singleton("LocalNameReplacementRule"), estimates.keySet());
+        final double[] e = estimates.get("LocalNameReplacementRule");
+        final double share = 10. / 30. * 2. / 4. + 20. / 30. * 1. / 3.;
+        final double variance = (10. / 30.) * (10. / 30.) * (1. - 4. / 10.) * (2. / 4.) * (2. / 4.) / 3.
+                + (20. / 30.) * (20. / 30.) * (1. - 3. / 20.) * (1. / 3.) * (2. / 3.) / 2.;
+        assertEquals(share, e[0], 1e-9);
+        assertEquals(0., e[1], 1e-9);
+        assertEquals(share + 1.959964 * Math.sqrt(variance), e[2], 1e-9);
+    }
+
+    @Test
+    public void testASingleSampledPairSaysNothing() {
+        final SampleEstimator estimator = new SampleEstimator(Collections.singletonMap("a", 10));
+        estimator.record("a", HIT);
+        final double[] e = estimator.estimates().get("LocalNameReplacementRule");
+        assertEquals(1., e[0], 1e-9);
+        assertEquals(0., e[1], 1e-9);
+        assertEquals(1., e[2], 1e-9);
+    }
+}
@@ -0,0 +1,59 @@
+package edu.utdallas.fpm.main;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TestSampler {
+    private static Sampler newSampler(final long seed) {
+        final Sampler sampler = new Sampler(seed);
+        final String[] projectNames = {"a", "b", "c"};
+        final int[] sizes = {10, 5, 1};
+        for (int i = 0; i < projectNames.length; i++) {
+            for (int j = 0; j < sizes[i]; j++) {
+                final String name = projectNames[i] + j;
+                sampler.add(new PairTask(new File(name + "-buggy.java"), new File(name + "-fixed.java"), projectNames[i]));
+            }
+        }
+        return sampler;
+    }
+
+    private static List<String> namesOf(final List<PairTask> order) {
+        final List<String> names = new ArrayList<>();
+        for (final PairTask task : order) {
+            names.add(task.buggy.getName());
+        }
+        return names;
+    }
+
+    @Test
+    public void testEveryPrefixIsProportionallyAllocated() {
+        final Sampler sampler = newSampler(0L);
+        final Map<String, Integer> sizes = sampler.getStratumSizes();
+        final List<PairTask> order = sampler.order();
+        assertEquals(16, order.size());
+        final Map<String, Integer> counts = new HashMap<>();
+        for (int m = 1; m <= order.size(); m++) {
+            counts.merge(order.get(m - 1).projectName, 1, Integer::sum);
+            for (final Map.Entry<String, Integer> ent : sizes.entrySet()) {
+                /* a project has floor(tN_h) or ceil(tN_h) keys below any t,
+                 * so it is off its share of m by at most 1 + 3 N_h / N */
+                final double share = (double) m * ent.getValue() / order.size();
+                final double slack = 1. + 3. * ent.getValue() / order.size();
+                assertTrue(Math.abs(counts.getOrDefault(ent.getKey(), 0) - share) <= slack);
+            }
+        }
+    }
+
+    @Test
+    public void testSeedsMakeSamplesRepeatable() {
+        assertEquals(namesOf(newSampler(7L).order()), namesOf(newSampler(7L).order()));
+        assertNotEquals(namesOf(newSampler(7L).order()), namesOf(newSampler(8L).order()));
+    }
+}
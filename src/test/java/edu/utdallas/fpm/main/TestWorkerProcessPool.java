@@ -0,0 +1,83 @@
+package edu.utdallas.fpm.main;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class TestWorkerProcessPool {
+    private static String read(final String fileName) throws Exception {
+        final ClassLoader cl = TestWorkerProcessPool.class.getClassLoader();
+        return new String(Files.readAllBytes(Paths.get(cl.getResource(fileName).toURI())),
+                StandardCharsets.UTF_8);
+    }
+
+    private static MiningResult mine(final WorkerProcessPool pool, final String name) throws Exception {
+        final String buggyName = (new File("buggy", name)).getPath();
+        final String fixedName = (new File("fixed", name)).getPath();
+        return pool.mine(buggyName, read(buggyName), fixedName, read(fixedName));
+    }
+
+    @Test
+    public void testWorkersAreRecycled() {
+        assertTimeoutPreemptively(Duration.ofMinutes(2), () -> {
+            final WorkerProcessPool pool = new WorkerProcessPool(1, -1, 2, -1);
+            try {
+                assertEquals(1, pool.getSpawned());
+                assertEquals(MiningResult.Outcome.MINED, mine(pool, "ConstantReplacement.java").getOutcome());
+                assertEquals(1, pool.getSpawned());
+                assertEquals(MiningResult.Outcome.MINED, mine(pool, "ConstantReplacement.java").getOutcome());
+                assertEquals(2, pool.getSpawned());
+                assertEquals(MiningResult.Outcome.MINED, mine(pool, "ConstantReplacement.java").getOutcome());
+                assertEquals(2, pool.getSpawned());
+            } finally {
+                pool.shutdown();
+            }
+        });
+    }
+
+    @Test
+    public void testTimedOutWorkersAreReplaced() {
+        assertTimeoutPreemptively(Duration.ofMinutes(2), () -> {
+            /* no worker can answer within no time at all */
+            final WorkerProcessPool pool = new WorkerProcessPool(1, 0, 1000, -1);
+            try {
+                assertEquals(MiningResult.Outcome.TIMED_OUT, mine(pool, "real-world.java").getOutcome());
+                assertEquals(2, pool.getSpawned());
+                assertEquals(MiningResult.Outcome.TIMED_OUT, mine(pool, "real-world.java").getOutcome());
+                assertEquals(3, pool.getSpawned());
+            } finally {
+                pool.shutdown();
+            }
+        });
+    }
+
+    @Test
+    public void testWorkersThatCannotBeRestartedAreTriedAgain() {
+        assertTimeoutPreemptively(Duration.ofMinutes(2), () -> {
+            final WorkerProcessPool pool = new WorkerProcessPool(1, 0, 1000, -1);
+            final String javaHome = System.getProperty("java.home");
+            try {
+                /* no JVM can be started for a while */
+                System.setProperty("java.home", Files.createTempDirectory("no-java").toString());
+                assertEquals(MiningResult.Outcome.TIMED_OUT, mine(pool, "real-world.java").getOutcome());
+                assertEquals(2, pool.getSpawned());
+                /* with no worker left, pairs fail rather than wait */
+                assertEquals(MiningResult.Outcome.FAILED, mine(pool, "real-world.java").getOutcome());
+                assertEquals(3, pool.getSpawned());
+                System.setProperty("java.home", javaHome);
+                assertEquals(MiningResult.Outcome.TIMED_OUT, mine(pool, "real-world.java").getOutcome());
+                assertEquals(5, pool.getSpawned());
+            } finally {
+                System.setProperty("java.home", javaHome);
+                pool.shutdown();
+            }
+        });
+    }
+}
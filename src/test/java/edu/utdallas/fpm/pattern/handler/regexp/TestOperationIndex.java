@@ -0,0 +1,187 @@
+package edu.utdallas.fpm.pattern.handler.regexp;
+
+import com.github.gumtreediff.actions.model.Delete;
+import com.github.gumtreediff.actions.model.Insert;
+import com.github.gumtreediff.tree.ITree;
+import edu.utdallas.fpm.pattern.rules.LocalNameReplacementRule;
+import gumtree.spoon.AstComparator;
+import gumtree.spoon.builder.SpoonGumTreeBuilder;
+import gumtree.spoon.diff.operations.DeleteOperation;
+import gumtree.spoon.diff.operations.InsertOperation;
+import gumtree.spoon.diff.operations.Operation;
+import org.junit.jupiter.api.Test;
+import spoon.reflect.code.CtInvocation;
+import spoon.reflect.code.CtVariableRead;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.visitor.filter.TypeFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestOperationIndex {
+    /* f is replaced by v in the calls to a and c, and 0 is deleted in between */
+    private static final String BUGGY = "class A { int f; void m(int v) { a(f); b(0); c(f); }"
+            + " void a(int x) { } void b(int x) { } void c(int x) { } }";
+
+    private static final String FIXED = "class A { int f; void m(int v) { a(v); b(); c(v); }"
+            + " void a(int x) { } void b() { } void c(int x) { } }";
+
+    private final AstComparator comparator = new AstComparator();
+    private final CtType<?> buggy = this.comparator.getCtType(BUGGY);
+    private final CtType<?> fixed = this.comparator.getCtType(FIXED);
+    private final ITree buggyTree = new SpoonGumTreeBuilder().getTree(this.buggy);
+    private final ITree fixedTree = new SpoonGumTreeBuilder().getTree(this.fixed);
+
+    private static CtInvocation<?> invocationOf(final CtType<?> type, final String name) {
+        for (final CtInvocation<?> invocation : type.getElements(new TypeFilter<CtInvocation<?>>(CtInvocation.class))) {
+            if (name.equals(invocation.getExecutable().getSimpleName())) {
+                return invocation;
+            }
+        }
+        throw new AssertionError("no call to " + name);
+    }
+
+    private static ITree treeOf(final ITree root, final CtElement element) {
+        for (final ITree tree : root.getTrees()) {
+            if (tree.getMetadata(SpoonGumTreeBuilder.SPOON_OBJECT) == element) {
+                return tree;
+            }
+        }
+        throw new AssertionError("no tree for " + element);
+    }
+
+    /* deletes the argument of the named call */
+    private Operation deletion(final String name) {
+        return new DeleteOperation(new Delete(treeOf(this.buggyTree,
+                invocationOf(this.buggy, name).getArguments().get(0))));
+    }
+
+    /* inserts the argument of the named call, into its buggy counterpart as
+     * GumTree does */
+    private Operation insertion(final String name) {
+        return new InsertOperation(new Insert(treeOf(this.fixedTree, invocationOf(this.fixed, name).getArguments().get(0)),
+                treeOf(this.buggyTree, invocationOf(this.buggy, name)),
+                0));
+    }
+
+    /* pairs any deletion with an insertion of a variable read, and names the
+     * calls they are arguments of */
+    private static final class PairingHandler extends RegExpHandler {
+        private final DelState delState;
+        private final InsState insState;
+        /* deleted-from->inserted-into, for every accepted pair */
+        private final List<String> pairs;
+
+        PairingHandler() {
+            this.initState = new InitState();
+            this.delState = new DelState();
+            this.insState = new InsState();
+            this.state = this.initState;
+            this.consumed = 0;
+            this.pairs = new ArrayList<>();
+        }
+
+        private final class InitState implements State {
+            @Override
+            public State handle(final Operation operation) {
+                if (operation instanceof DeleteOperation) {
+                    return delState.enter(operation.getSrcNode());
+                }
+                return initState;
+            }
+        }
+
+        private static String callOf(final CtElement element) {
+            return ((CtInvocation<?>) element.getParent()).getExecutable().getSimpleName();
+        }
+
+        private final class DelState implements PairingState {
+            private CtElement deleted;
+
+            DelState enter(final CtElement deleted) {
+                this.deleted = deleted;
+                return this;
+            }
+
+            @Override
+            public Class<? extends CtElement> getInsertedType() {
+                return CtVariableRead.class;
+            }
+
+            @Override
+            public State handle(final Operation operation) {
+                if (operation instanceof InsertOperation && operation.getSrcNode() instanceof CtVariableRead) {
+                    return insState.enter(callOf(this.deleted), callOf(operation.getSrcNode()));
+                }
+                return initState;
+            }
+        }
+
+        private final class InsState implements AcceptanceState {
+            private String deletedFrom;
+            private String insertedInto;
+
+            InsState enter(final String deletedFrom, final String insertedInto) {
+                this.deletedFrom = deletedFrom;
+                this.insertedInto = insertedInto;
+                pairs.add(deletedFrom + "->" + insertedInto);
+                return this;
+            }
+
+            @Override
+            public edu.utdallas.fpm.pattern.rules.Rule getRule() {
+                return new LocalNameReplacementRule(this.deletedFrom, this.insertedInto);
+            }
+
+            @Override
+            public State handle(final Operation operation) {
+                return initState;
+            }
+        }
+    }
+
+    @Test
+    public void testInsertionsAreLookedUpInTheParentOfTheDeletedNode() {
+        final Operation deletedFromA = deletion("a");
+        final Operation deletedFromC = deletion("c");
+        final Operation insertedIntoA = insertion("a");
+        final Operation insertedIntoC = insertion("c");
+        final OperationIndex index = new OperationIndex(Arrays.asList(insertedIntoA,
+                deletedFromA,
+                deletion("b"),
+                deletedFromC,
+                insertedIntoC));
+        /* both calls are parents of the same class, but only the one with the
+         * deleted node is its place, wherever the insertion comes */
+        assertEquals(Collections.singletonList(0), index.lookup(InsertOperation.class, deletedFromA, CtVariableRead.class));
+        assertEquals(Collections.singletonList(4), index.lookup(InsertOperation.class, deletedFromC, CtVariableRead.class));
+        assertEquals(Collections.singletonList(0), index.lookup(InsertOperation.class, deletedFromA, null));
+        assertTrue(index.lookup(InsertOperation.class, deletedFromA, CtInvocation.class).isEmpty());
+    }
+
+    @Test
+    public void testNonAdjacentOperationsArePairedInTheSameParentOnly() {
+        final PairingHandler handler = new PairingHandler();
+        final RegExpMatcher matcher = new RegExpMatcher(new RegExpHandler[0], new RegExpHandler[] {handler});
+        final Operation deletedFromB = deletion("b");
+        final List<Operation> ops = new ArrayList<>(Arrays.asList(deletion("a"),
+                deletedFromB,
+                deletion("c"),
+                insertion("c"),
+                insertion("a")));
+        assertEquals(2, matcher.match(ops).size());
+        assertEquals(Arrays.asList("a->a", "c->c"), handler.pairs);
+        assertEquals(Collections.singletonList(deletedFromB), ops);
+
+        /* a deletion from a is not paired with an insertion into c */
+        final List<Operation> apart = new ArrayList<>(Arrays.asList(deletion("a"), insertion("c")));
+        assertTrue(matcher.match(apart).isEmpty());
+        assertEquals(2, apart.size());
+        assertEquals(2, handler.pairs.size());
+    }
+}